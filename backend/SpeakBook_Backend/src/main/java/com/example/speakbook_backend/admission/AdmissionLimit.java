@@ -0,0 +1,102 @@
+package com.example.speakbook_backend.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 單一範圍（全域或單一用戶端）的上傳限制
+ * 進行中的請求數與位元組數以 CAS 計數；每秒請求數與位元組數以權杖桶限制
+ * 上限小於等於 0 的項目不限制
+ */
+final class AdmissionLimit {
+
+    private final long maxInFlightRequests;
+    private final long maxInFlightBytes;
+    private final TokenBucket requestBucket;
+    private final TokenBucket byteBucket;
+
+    private final AtomicLong inFlightRequests = new AtomicLong();
+    private final AtomicLong inFlightBytes = new AtomicLong();
+    private volatile long lastUsedNanos = System.nanoTime();
+
+    AdmissionLimit(long maxInFlightRequests, long maxInFlightBytes,
+                   double requestsPerSecond, long requestBurst,
+                   double bytesPerSecond, long byteBurst) {
+        this.maxInFlightRequests = maxInFlightRequests;
+        this.maxInFlightBytes = maxInFlightBytes;
+        this.requestBucket = new TokenBucket(requestsPerSecond, requestBurst);
+        this.byteBucket = new TokenBucket(bytesPerSecond, byteBurst);
+    }
+
+    /**
+     * 嘗試允許一個 bytes 大小的上傳
+     * 允許時回傳 0，需由呼叫端在請求結束後呼叫 release；
+     * 拒絕時不保留任何名額，回傳建議的等待奈秒數，進行中的上限已滿時回傳 -1（等待時間未知）
+     */
+    long tryAcquire(long bytes) {
+        lastUsedNanos = System.nanoTime();
+        if (!increment(inFlightRequests, 1, maxInFlightRequests)) {
+            return -1;
+        }
+        if (!increment(inFlightBytes, bytes, maxInFlightBytes)) {
+            inFlightRequests.decrementAndGet();
+            return -1;
+        }
+
+        long wait = requestBucket.tryAcquire(1);
+        if (wait == 0) {
+            wait = byteBucket.tryAcquire(bytes);
+            if (wait != 0) {
+                requestBucket.refund(1);
+            }
+        }
+        if (wait != 0) {
+            release(bytes);
+        }
+        return wait;
+    }
+
+    /**
+     * 歸還 tryAcquire 已通過的權杖（其他範圍的限制未通過時），並釋放進行中的名額
+     */
+    void cancel(long bytes) {
+        requestBucket.refund(1);
+        byteBucket.refund(bytes);
+        release(bytes);
+    }
+
+    /**
+     * 請求結束，釋放進行中的名額（權杖不歸還）
+     */
+    void release(long bytes) {
+        inFlightBytes.addAndGet(-bytes);
+        inFlightRequests.decrementAndGet();
+        lastUsedNanos = System.nanoTime();
+    }
+
+    /**
+     * 沒有進行中的請求且閒置超過 idleNanos
+     */
+    boolean isIdle(long idleNanos) {
+        return inFlightRequests.get() == 0 && System.nanoTime() - lastUsedNanos > idleNanos;
+    }
+
+    /**
+     * 以 CAS 增加計數，超過上限時不變更並回傳 false
+     * 目前沒有進行中的量時一律允許，單一請求大於上限時仍可通過
+     */
+    private static boolean increment(AtomicLong counter, long amount, long max) {
+        if (max <= 0) {
+            counter.addAndGet(amount);
+            return true;
+        }
+        while (true) {
+            long current = counter.get();
+            if (current > 0 && current + amount > max) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + amount)) {
+                return true;
+            }
+        }
+    }
+}
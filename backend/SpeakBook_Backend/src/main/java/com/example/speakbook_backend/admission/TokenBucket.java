@@ -0,0 +1,62 @@
+package com.example.speakbook_backend.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 無鎖的權杖桶
+ * 以 GCRA（generic cell rate algorithm）實作：只保存「理論到達時間」一個 AtomicLong，
+ * 取得權杖即把它往後推 tokens × 每個權杖的間隔，超過容量對應的時間即拒絕，
+ * 等價於容量 capacity、每秒補充 ratePerSecond 的權杖桶，並可直接算出需等待的時間
+ * ratePerSecond 小於等於 0 時不限制
+ */
+final class TokenBucket {
+
+    private final long capacity;
+    private final double nanosPerToken;
+    private final long burstNanos;
+
+    // 理論到達時間（System.nanoTime），不晚於現在代表桶已滿
+    private final AtomicLong theoreticalArrival = new AtomicLong(System.nanoTime());
+
+    TokenBucket(double ratePerSecond, long capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.nanosPerToken = ratePerSecond > 0 ? 1_000_000_000d / ratePerSecond : 0;
+        this.burstNanos = (long) (this.capacity * nanosPerToken);
+    }
+
+    /**
+     * 取得 tokens 個權杖，成功回傳 0，否則回傳需等待的奈秒數（不消耗權杖）
+     * 超過容量的請求視為取得整桶，避免大檔案永遠無法通過
+     */
+    long tryAcquire(long tokens) {
+        if (nanosPerToken == 0) {
+            return 0;
+        }
+        long cost = costOf(tokens);
+        while (true) {
+            long now = System.nanoTime();
+            long tat = theoreticalArrival.get();
+            long next = (tat - now > 0 ? tat : now) + cost;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 歸還 tryAcquire 成功取得的權杖（同一請求的其他限制未通過時）
+     */
+    void refund(long tokens) {
+        if (nanosPerToken != 0) {
+            theoreticalArrival.addAndGet(-costOf(tokens));
+        }
+    }
+
+    private long costOf(long tokens) {
+        return (long) Math.ceil(Math.min(Math.max(tokens, 0), capacity) * nanosPerToken);
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.speakbook_backend.admission;
+
+import com.example.speakbook_backend.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 上傳請求的准入控制
+ * 在讀取請求內容（multipart 解析）之前，依 Content-Length 檢查全域與單一用戶端的限制：
+ * 進行中的請求數與位元組數，以及每秒請求數與位元組數（權杖桶）
+ * 超過限制時回傳 429 與 Retry-After，用戶端使用 Expect: 100-continue 時請求內容不會被送出
+ * 用戶端以來源 IP 識別：目前的登入令牌未經伺服器驗證，任意的 Authorization 標頭都能繞過單一用戶端的限制
+ * 追蹤的用戶端數有上限，超過時新的用戶端共用同一組限制，記憶體用量不隨來源數增加
+ */
+@Component
+public class UploadAdmissionFilter extends OncePerRequestFilter {
+
+    // 需要准入控制的上傳端點（方法 + 路徑）
+    private static final List<String[]> UPLOAD_ENDPOINTS = List.of(
+            new String[]{"POST", "/api/upload/image"},
+            new String[]{"POST", "/api/upload/audio"},
+            new String[]{"POST", "/api/audios/upload"},
+            new String[]{"POST", "/api/audios/import"},
+            new String[]{"POST", "/api/audios/uploads"},
+            new String[]{"PUT", "/api/audios/uploads/*"},
+            new String[]{"POST", "/api/users/*/avatar"}
+    );
+
+    // 閒置的用戶端限制在此時間後移除（權杖桶早已補滿，移除不影響限制）
+    private static final long CLIENT_IDLE_NANOS = TimeUnit.MINUTES.toNanos(10);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    private final boolean enabled;
+    private final long unknownLengthBytes;
+    private final long inFlightRetryAfterSeconds;
+
+    private final AdmissionLimit globalLimit;
+    private final Map<String, AdmissionLimit> clientLimits = new ConcurrentHashMap<>();
+    private final int maxTrackedClients;
+    // 追蹤的用戶端已達上限時，其餘用戶端共用的限制
+    private final AdmissionLimit overflowLimit;
+
+    private final long clientMaxInFlightRequests;
+    private final long clientMaxInFlightBytes;
+    private final double clientRequestsPerSecond;
+    private final long clientRequestBurst;
+    private final double clientBytesPerSecond;
+    private final long clientByteBurst;
+
+    private final ScheduledThreadPoolExecutor cleaner;
+
+    public UploadAdmissionFilter(
+            @Value("${speakbook.upload.admission.enabled:true}") boolean enabled,
+            @Value("${speakbook.upload.admission.unknown-length-bytes:52428800}") long unknownLengthBytes,
+            @Value("${speakbook.upload.admission.in-flight-retry-after-seconds:2}") long inFlightRetryAfterSeconds,
+            @Value("${speakbook.upload.admission.global.max-in-flight-requests:32}") long globalMaxInFlightRequests,
+            @Value("${speakbook.upload.admission.global.max-in-flight-bytes:536870912}") long globalMaxInFlightBytes,
+            @Value("${speakbook.upload.admission.global.requests-per-second:20}") double globalRequestsPerSecond,
+            @Value("${speakbook.upload.admission.global.request-burst:40}") long globalRequestBurst,
+            @Value("${speakbook.upload.admission.global.bytes-per-second:52428800}") double globalBytesPerSecond,
+            @Value("${speakbook.upload.admission.global.byte-burst:524288000}") long globalByteBurst,
+            @Value("${speakbook.upload.admission.client.max-in-flight-requests:4}") long clientMaxInFlightRequests,
+            @Value("${speakbook.upload.admission.client.max-in-flight-bytes:209715200}") long clientMaxInFlightBytes,
+            @Value("${speakbook.upload.admission.client.requests-per-second:2}") double clientRequestsPerSecond,
+            @Value("${speakbook.upload.admission.client.request-burst:10}") long clientRequestBurst,
+            @Value("${speakbook.upload.admission.client.bytes-per-second:5242880}") double clientBytesPerSecond,
+            @Value("${speakbook.upload.admission.client.byte-burst:104857600}") long clientByteBurst,
+            @Value("${speakbook.upload.admission.client.max-tracked:10000}") int maxTrackedClients) {
+        this.enabled = enabled;
+        this.unknownLengthBytes = unknownLengthBytes;
+        this.inFlightRetryAfterSeconds = Math.max(1, inFlightRetryAfterSeconds);
+        this.globalLimit = new AdmissionLimit(globalMaxInFlightRequests, globalMaxInFlightBytes,
+                globalRequestsPerSecond, globalRequestBurst, globalBytesPerSecond, globalByteBurst);
+        this.clientMaxInFlightRequests = clientMaxInFlightRequests;
+        this.clientMaxInFlightBytes = clientMaxInFlightBytes;
+        this.clientRequestsPerSecond = clientRequestsPerSecond;
+        this.clientRequestBurst = clientRequestBurst;
+        this.clientBytesPerSecond = clientBytesPerSecond;
+        this.clientByteBurst = clientByteBurst;
+        this.maxTrackedClients = Math.max(1, maxTrackedClients);
+        this.overflowLimit = newClientLimit();
+
+        this.cleaner = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "upload-admission-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cleaner.scheduleWithFixedDelay(this::removeIdleClients, 1, 1, TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String[] endpoint : UPLOAD_ENDPOINTS) {
+            if (endpoint[0].equalsIgnoreCase(request.getMethod()) && pathMatcher.match(endpoint[1], path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long contentLength = request.getContentLengthLong();
+        long bytes = contentLength >= 0 ? contentLength : unknownLengthBytes;
+
+        AdmissionLimit clientLimit = clientLimitOf(request.getRemoteAddr());
+
+        long wait = clientLimit.tryAcquire(bytes);
+        if (wait != 0) {
+            reject(response, wait, "您的上傳請求過多");
+            return;
+        }
+        wait = globalLimit.tryAcquire(bytes);
+        if (wait != 0) {
+            clientLimit.cancel(bytes);
+            reject(response, wait, "伺服器上傳量已達上限");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            globalLimit.release(bytes);
+            clientLimit.release(bytes);
+        }
+    }
+
+    /**
+     * 回傳 429，Retry-After 為權杖補足所需的秒數（進行中的上限已滿時使用固定秒數）
+     */
+    private void reject(HttpServletResponse response, long waitNanos, String reason) throws IOException {
+        long retryAfter = waitNanos < 0
+                ? inFlightRetryAfterSeconds
+                : Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(),
+                Response.newFail(reason + "，請於 " + retryAfter + " 秒後再試"));
+    }
+
+    /**
+     * 取得來源位址的限制；追蹤的用戶端已達上限且清除閒置項目後仍滿時使用共用的限制
+     */
+    private AdmissionLimit clientLimitOf(String remoteAddress) {
+        AdmissionLimit limit = clientLimits.get(remoteAddress);
+        if (limit != null) {
+            return limit;
+        }
+        if (clientLimits.size() >= maxTrackedClients) {
+            removeIdleClients();
+            if (clientLimits.size() >= maxTrackedClients) {
+                return overflowLimit;
+            }
+        }
+        return clientLimits.computeIfAbsent(remoteAddress, key -> newClientLimit());
+    }
+
+    private AdmissionLimit newClientLimit() {
+        return new AdmissionLimit(clientMaxInFlightRequests, clientMaxInFlightBytes,
+                clientRequestsPerSecond, clientRequestBurst, clientBytesPerSecond, clientByteBurst);
+    }
+
+    private void removeIdleClients() {
+        clientLimits.entrySet().removeIf(entry -> entry.getValue().isIdle(CLIENT_IDLE_NANOS));
+    }
+}
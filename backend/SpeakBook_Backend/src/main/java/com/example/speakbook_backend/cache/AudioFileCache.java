@@ -0,0 +1,374 @@
+package com.example.speakbook_backend.cache;
+
+import com.example.speakbook_backend.http.RemoteHttpClient;
+import com.example.speakbook_backend.storage.LocalStorageProvider;
+import com.example.speakbook_backend.storage.StorageProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 遠端音訊的本機磁碟快取
+ * 以來源 URL 的 SHA-256 為檔名，未命中時從遠端下載，超過磁碟預算時依 LRU 刪除
+ * 本機儲存（LocalStorageProvider）的檔案直接回傳原檔，不經過快取
+ * 音訊 URL 可由用戶端任意設定，因此只下載儲存後端主機上的 http(s) 檔案，拒絕內部位址，
+ * 並限制單一檔案大小，避免伺服器被用來存取內部服務或寫滿磁碟
+ */
+@Component
+public class AudioFileCache {
+
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+    private final long maxBytes;
+    // 單一檔案的下載上限，不超過快取容量
+    private final long maxDownloadBytes;
+    // 下載位於讀取路徑上，隔艙已滿時短暫排隊，而不是讓串流與打包直接失敗
+    private final long bulkheadWaitMs;
+
+    // accessOrder = true，迭代順序即為 LRU 順序；值為檔案大小
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long currentBytes;
+
+    // 同一 URL 同時只下載一次
+    private final ConcurrentHashMap<String, CompletableFuture<Path>> inflight = new ConcurrentHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong bytesFetched = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    @Autowired
+    private LocalStorageProvider localStorageProvider;
+
+    @Autowired
+    private RemoteHttpClient remoteHttpClient;
+
+    @Autowired
+    private List<StorageProvider> storageProviders;
+
+    public AudioFileCache(
+            @Value("${speakbook.cache.audio-file.dir:${java.io.tmpdir}/speakbook/audio-cache}") String directory,
+            @Value("${speakbook.cache.audio-file.max-bytes:1073741824}") long maxBytes,
+            @Value("${speakbook.cache.audio-file.bulkhead-wait-ms:10000}") long bulkheadWaitMs,
+            // 預設與音訊上傳的大小上限（50MB）相同
+            @Value("${speakbook.cache.audio-file.max-download-bytes:52428800}") long maxDownloadBytes) throws IOException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("快取容量必須大於 0");
+        }
+        this.directory = Paths.get(directory);
+        this.maxBytes = maxBytes;
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        this.maxDownloadBytes = Math.min(maxDownloadBytes, maxBytes);
+
+        Files.createDirectories(this.directory);
+        loadExisting();
+    }
+
+    /**
+     * 取得 URL 對應的本機檔案，未命中時下載後回傳
+     */
+    public Path get(String url) {
+        // 本機儲存的檔案直接使用，不需要下載或佔用快取容量
+        Path local = localStorageProvider.resolve(url);
+        if (local != null) {
+            return local;
+        }
+
+        String key = keyOf(url);
+        synchronized (this) {
+            Long length = entries.get(key);
+            if (length != null) {
+                if (Files.exists(pathOf(key))) {
+                    hitCount.incrementAndGet();
+                    return pathOf(key);
+                }
+                // 檔案已被外部刪除，移除紀錄後重新下載
+                entries.remove(key);
+                currentBytes -= length;
+            }
+        }
+        missCount.incrementAndGet();
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        CompletableFuture<Path> existing = inflight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            future.complete(download(url, key));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        } finally {
+            inflight.remove(key, future);
+        }
+        return await(future);
+    }
+
+    /**
+     * 取得 URL 對應的本機檔案並立即開啟
+     * 開啟後即使快取淘汰刪除檔案也能讀完；檔案在取得與開啟之間被淘汰時重新下載一次
+     */
+    public FileChannel open(String url) throws IOException {
+        try {
+            return FileChannel.open(get(url), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return FileChannel.open(get(url), StandardOpenOption.READ);
+        }
+    }
+
+    /**
+     * 記錄實際送出的位元組數
+     */
+    public void recordBytesServed(long bytes) {
+        bytesServed.addAndGet(bytes);
+    }
+
+    /**
+     * 取得統計資訊
+     */
+    public AudioFileCacheStats getStats() {
+        AudioFileCacheStats stats = new AudioFileCacheStats();
+        stats.setName("audioFile");
+        stats.setHitCount(hitCount.get());
+        stats.setMissCount(missCount.get());
+        stats.setEvictionCount(evictionCount.get());
+        synchronized (this) {
+            stats.setSize(entries.size());
+            stats.setWeight(currentBytes);
+        }
+        stats.setMaxWeight(maxBytes);
+        stats.setBytesFetched(bytesFetched.get());
+        stats.setBytesServed(bytesServed.get());
+        return stats;
+    }
+
+    private Path download(String url, String key) {
+        checkDownloadable(url);
+        Path target = pathOf(key);
+        Path temp = directory.resolve(key + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            // 串流寫入暫存檔，完成後再原子搬移，避免讀到下載一半的檔案
+            Long size = remoteHttpClient.execute(url, bulkheadWaitMs, restTemplate ->
+                    restTemplate.execute(url, HttpMethod.GET, null, response -> {
+                        if (!response.getStatusCode().is2xxSuccessful()) {
+                            throw new IOException("遠端回應狀態碼：" + response.getStatusCode());
+                        }
+                        if (response.getHeaders().getContentLength() > maxDownloadBytes) {
+                            throw new IOException("音訊檔案超過下載上限 " + maxDownloadBytes + " 字節");
+                        }
+                        try (InputStream in = response.getBody()) {
+                            return copyLimited(in, temp);
+                        }
+                    }));
+            move(temp, target);
+            long length = size != null ? size : Files.size(target);
+            bytesFetched.addAndGet(length);
+            register(key, length);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("下載音訊失敗：" + url, e);
+        } finally {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException ignored) {
+                // 暫存檔刪除失敗不影響結果
+            }
+        }
+    }
+
+    /**
+     * 只允許下載儲存後端主機上的 http(s) URL，且主機不可解析到內部位址
+     */
+    private void checkDownloadable(String url) {
+        URI uri;
+        try {
+            uri = URI.create(url);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("無效的音訊 URL：" + url);
+        }
+        String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase(Locale.ROOT) : "";
+        if (!scheme.equals("http") && !scheme.equals("https")) {
+            throw new IllegalArgumentException("不允許下載的音訊 URL：" + url);
+        }
+        String host = uri.getHost() != null ? uri.getHost().toLowerCase(Locale.ROOT) : "";
+        boolean allowed = false;
+        for (StorageProvider provider : storageProviders) {
+            if (provider.getDownloadHosts().contains(host)) {
+                allowed = true;
+                break;
+            }
+        }
+        if (!allowed) {
+            throw new IllegalArgumentException("不允許下載的音訊 URL：" + url);
+        }
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                if (isInternal(address)) {
+                    throw new IllegalArgumentException("不允許下載的音訊 URL：" + url);
+                }
+            }
+        } catch (UnknownHostException e) {
+            throw new IllegalArgumentException("無法解析音訊主機：" + host);
+        }
+    }
+
+    private static boolean isInternal(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        // IPv6 唯一本地位址 fc00::/7
+        byte[] bytes = address.getAddress();
+        return bytes.length == 16 && (bytes[0] & 0xFE) == 0xFC;
+    }
+
+    /**
+     * 串流寫入檔案，超過 maxDownloadBytes 時中止（不信任 Content-Length）
+     */
+    private long copyLimited(InputStream in, Path target) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                total += n;
+                if (total > maxDownloadBytes) {
+                    throw new IOException("音訊檔案超過下載上限 " + maxDownloadBytes + " 字節");
+                }
+                out.write(buffer, 0, n);
+            }
+        }
+        return total;
+    }
+
+    private void register(String key, long length) {
+        List<String> evicted = new ArrayList<>();
+        synchronized (this) {
+            Long previous = entries.put(key, length);
+            if (previous != null) {
+                currentBytes -= previous;
+            }
+            currentBytes += length;
+
+            Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(key)) {
+                    continue;
+                }
+                currentBytes -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+
+        // 已開啟的檔案在刪除後仍可讀完，正在傳送的請求不受影響
+        for (String old : evicted) {
+            try {
+                Files.deleteIfExists(pathOf(old));
+            } catch (IOException ignored) {
+                // 下次啟動時會重新計算
+            }
+        }
+    }
+
+    /**
+     * 啟動時載入既有快取檔，依最後修改時間還原 LRU 順序
+     */
+    private void loadExisting() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path file : stream) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                } else if (fileName.endsWith(SUFFIX)) {
+                    files.add(file);
+                }
+            }
+        }
+        files.sort(Comparator.comparing(AudioFileCache::lastModified));
+        for (Path file : files) {
+            String fileName = file.getFileName().toString();
+            register(fileName.substring(0, fileName.length() - SUFFIX.length()), Files.size(file));
+        }
+    }
+
+    private Path pathOf(String key) {
+        return directory.resolve(key + SUFFIX);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static Path await(CompletableFuture<Path> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static String keyOf(String url) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(url.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
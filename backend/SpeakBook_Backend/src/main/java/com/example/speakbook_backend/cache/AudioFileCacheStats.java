@@ -0,0 +1,27 @@
+package com.example.speakbook_backend.cache;
+
+/**
+ * 音訊磁碟快取統計資訊
+ */
+public class AudioFileCacheStats extends CacheStats {
+
+    private long bytesFetched; // 從遠端下載的位元組數
+    private long bytesServed;  // 送出給用戶端的位元組數
+
+    // Getters and Setters
+    public long getBytesFetched() {
+        return bytesFetched;
+    }
+
+    public void setBytesFetched(long bytesFetched) {
+        this.bytesFetched = bytesFetched;
+    }
+
+    public long getBytesServed() {
+        return bytesServed;
+    }
+
+    public void setBytesServed(long bytesServed) {
+        this.bytesServed = bytesServed;
+    }
+}
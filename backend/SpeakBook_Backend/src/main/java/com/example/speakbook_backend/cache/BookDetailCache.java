@@ -0,0 +1,64 @@
+package com.example.speakbook_backend.cache;
+
+import com.example.speakbook_backend.dto.BookDTO;
+import com.example.speakbook_backend.dto.HotspotDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 教材詳情快取（BookService.getBookById 的讀穿快取）
+ * 快取中的 BookDTO 為共用物件，呼叫端不可修改
+ */
+@Component
+public class BookDetailCache extends WeightedLruCache<Long, BookDTO> {
+
+    public BookDetailCache(@Value("${speakbook.cache.book-detail.max-bytes:33554432}") long maxBytes) {
+        super("bookDetail", maxBytes, BookDetailCache::estimateSize);
+    }
+
+    /**
+     * 使教材快取失效
+     * 在交易中呼叫時，提交後會再失效一次，避免併發讀取在提交前把舊資料放回快取
+     */
+    public void evict(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+        invalidate(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(bookId);
+                }
+            });
+        }
+    }
+
+    /**
+     * 估算 BookDTO 佔用的位元組數
+     */
+    static int estimateSize(BookDTO dto) {
+        int size = 256;
+        size += sizeOf(dto.getTitle()) + sizeOf(dto.getAuthor()) + sizeOf(dto.getDescription())
+                + sizeOf(dto.getCategory()) + sizeOf(dto.getTargetAge()) + sizeOf(dto.getDifficulty())
+                + sizeOf(dto.getCoverImageUrl()) + sizeOf(dto.getCoverThumbnailUrl())
+                + sizeOf(dto.getCoverMediumUrl()) + sizeOf(dto.getStatus());
+        if (dto.getHotspots() != null) {
+            for (HotspotDTO hotspot : dto.getHotspots()) {
+                size += 128 + sizeOf(hotspot.getLabel()) + sizeOf(hotspot.getAudioUrl());
+                if (hotspot.getAudio() != null) {
+                    size += 192 + sizeOf(hotspot.getAudio().getName()) + sizeOf(hotspot.getAudio().getUrl())
+                            + sizeOf(hotspot.getAudio().getContentHash()) + sizeOf(hotspot.getAudio().getCategory());
+                }
+            }
+        }
+        return size;
+    }
+
+    private static int sizeOf(String value) {
+        return value == null ? 0 : 40 + value.length() * 2;
+    }
+}
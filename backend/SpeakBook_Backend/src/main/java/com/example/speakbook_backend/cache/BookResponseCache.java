@@ -0,0 +1,105 @@
+package com.example.speakbook_backend.cache;
+
+import com.example.speakbook_backend.Response;
+import com.example.speakbook_backend.dto.BookDTO;
+import com.example.speakbook_backend.dto.PageRequest;
+import com.example.speakbook_backend.dto.PageResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Supplier;
+
+/**
+ * 已發布教材的預序列化回應快取
+ * 快取 GET /api/books/{id} 與 GET /api/books/page 前幾頁的 JSON 位元組與 gzip 版本，
+ * 命中時直接寫入輸出串流，不再經過 BookConverter 與 Jackson
+ */
+@Component
+public class BookResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final int maxPages;
+    private final WeightedLruCache<Long, SerializedResponse> details;
+    private final WeightedLruCache<String, SerializedResponse> pages;
+
+    public BookResponseCache(ObjectMapper objectMapper,
+                             @Value("${speakbook.cache.book-response.max-bytes:33554432}") long maxBytes,
+                             @Value("${speakbook.cache.book-response.max-pages:5}") int maxPages) {
+        this.objectMapper = objectMapper;
+        this.maxPages = maxPages;
+        this.details = new WeightedLruCache<>("bookDetailResponse", maxBytes, SerializedResponse::size);
+        this.pages = new WeightedLruCache<>("bookPageResponse", Math.max(1, maxBytes / 4), SerializedResponse::size);
+    }
+
+    /**
+     * 取得教材詳情回應，僅快取已發布的教材；草稿回傳 null 由呼叫端走一般流程
+     */
+    public SerializedResponse getDetail(Long id, Supplier<BookDTO> loader) {
+        return details.get(id, key -> {
+            BookDTO book = loader.get();
+            return "published".equals(book.getStatus()) ? serialize(Response.newSuccess(book)) : null;
+        });
+    }
+
+    /**
+     * 是否為可快取的分頁查詢：前 N 頁、無關鍵字、一般分頁模式
+     */
+    public boolean isCacheablePage(PageRequest pageRequest) {
+        boolean noKeyword = pageRequest.getSearchKeyword() == null || pageRequest.getSearchKeyword().trim().isEmpty();
+        return noKeyword
+                && pageRequest.getPage() <= maxPages
+                && !pageRequest.isCursorMode()
+                && !pageRequest.isSlice();
+    }
+
+    /**
+     * 取得分頁回應
+     */
+    public SerializedResponse getPage(PageRequest pageRequest, Supplier<PageResponse<BookDTO>> loader) {
+        String key = pageRequest.getPage() + ":" + pageRequest.getPageSize() + ":" + pageRequest.getSortBy()
+                + ":" + pageRequest.getSortDirection() + ":" + pageRequest.isSummary();
+        return pages.get(key, k -> serialize(Response.newSuccess(loader.get())));
+    }
+
+    /**
+     * 教材變更時使其詳情與所有分頁回應失效（提交後再失效一次）
+     */
+    public void evict(Long bookId) {
+        evictNow(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(bookId);
+                }
+            });
+        }
+    }
+
+    public CacheStats getDetailStats() {
+        return details.getStats();
+    }
+
+    public CacheStats getPageStats() {
+        return pages.getStats();
+    }
+
+    private void evictNow(Long bookId) {
+        if (bookId != null) {
+            details.invalidate(bookId);
+        }
+        pages.invalidateAll();
+    }
+
+    private SerializedResponse serialize(Object value) {
+        try {
+            return new SerializedResponse(objectMapper.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("回應序列化失敗：" + e.getMessage(), e);
+        }
+    }
+}
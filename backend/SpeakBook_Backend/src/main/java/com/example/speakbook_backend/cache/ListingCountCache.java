@@ -0,0 +1,82 @@
+package com.example.speakbook_backend.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * 列表總筆數快取
+ * 由寫入路徑遞增/遞減維護，讓常用的無關鍵字分頁不必每次執行 COUNT 查詢
+ * 每筆計數有存活時間，過期後重新查詢以修正可能的誤差
+ */
+@Component
+public class ListingCountCache {
+
+    public static final String PUBLISHED_BOOKS = "books:published";
+    public static final String ALL_AUDIOS = "audios:all";
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public ListingCountCache(@Value("${speakbook.cache.listing-count.ttl-seconds:300}") long ttlSeconds) {
+        this.ttlMillis = ttlSeconds * 1000;
+    }
+
+    /**
+     * 取得總筆數，未快取或已過期時呼叫 loader 查詢
+     */
+    public long get(String key, LongSupplier loader) {
+        Counter counter = counters.get(key);
+        long now = System.currentTimeMillis();
+        if (counter != null && now - counter.loadedAt < ttlMillis) {
+            return Math.max(0, counter.value);
+        }
+
+        Counter loaded = new Counter(loader.getAsLong(), now);
+        counters.put(key, loaded);
+        return loaded.value;
+    }
+
+    /**
+     * 調整計數（提交後套用；尚未快取時忽略，下次查詢會重新載入）
+     */
+    public void adjust(String key, long delta) {
+        afterCommit(() -> counters.computeIfPresent(key, (k, c) -> new Counter(c.value + delta, c.loadedAt)));
+    }
+
+    /**
+     * 使計數失效（無法判斷增減時使用）
+     */
+    public void invalidate(String key) {
+        counters.remove(key);
+        afterCommit(() -> counters.remove(key));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Counter {
+        private final long value;
+        private final long loadedAt;
+
+        private Counter(long value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.speakbook_backend.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 預先序列化的 JSON 回應，同時保存 gzip 壓縮版本
+ */
+public class SerializedResponse {
+
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public SerializedResponse(byte[] json) {
+        this.json = json;
+        this.gzip = compress(json);
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    /**
+     * 估算佔用的位元組數
+     */
+    public int size() {
+        return json.length + gzip.length + 64;
+    }
+
+    private static byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.speakbook_backend.cache;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * 以權重（估算位元組數）為上限的 LRU 快取
+ * 超過上限時從最久未使用的項目開始淘汰
+ * @param <K> 鍵類型
+ * @param <V> 值類型
+ */
+public class WeightedLruCache<K, V> {
+
+    private final String name;
+    private final long maxWeight;
+    private final ToIntFunction<V> weigher;
+
+    // accessOrder = true，迭代順序即為 LRU 順序
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(64, 0.75f, true);
+    private long currentWeight;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+    private final AtomicLong invalidationCount = new AtomicLong();
+
+    public WeightedLruCache(String name, long maxWeight, ToIntFunction<V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("快取容量必須大於 0");
+        }
+        this.name = name;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * 讀取快取，未命中時呼叫 loader 載入並放入快取
+     * loader 在鎖外執行，避免慢查詢阻塞其他讀取
+     */
+    public V get(K key, Function<K, V> loader) {
+        V cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long version = currentVersion(key);
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            putIfVersionUnchanged(key, loaded, version);
+        }
+        return loaded;
+    }
+
+    /**
+     * 僅讀取快取，不觸發載入
+     */
+    public V getIfPresent(K key) {
+        synchronized (this) {
+            Entry<V> entry = map.get(key);
+            if (entry != null) {
+                hitCount.incrementAndGet();
+                return entry.value;
+            }
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * 讀取快取但不計入命中統計
+     */
+    public synchronized V peek(K key) {
+        Entry<V> entry = map.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    /**
+     * 寫入快取
+     */
+    public void put(K key, V value) {
+        int weight = Math.max(1, weigher.applyAsInt(value));
+        synchronized (this) {
+            insert(key, value, weight);
+        }
+    }
+
+    /**
+     * 使單一鍵失效
+     */
+    public void invalidate(K key) {
+        synchronized (this) {
+            Entry<V> removed = map.remove(key);
+            if (removed != null) {
+                currentWeight -= removed.weight;
+            }
+            bumpVersion(key);
+        }
+        invalidationCount.incrementAndGet();
+    }
+
+    /**
+     * 清空快取
+     */
+    public void invalidateAll() {
+        synchronized (this) {
+            map.clear();
+            currentWeight = 0;
+            invalidatedAt.clear();
+            clearedAtEpoch = ++epoch;
+        }
+        invalidationCount.incrementAndGet();
+    }
+
+    /**
+     * 取得統計資訊
+     */
+    public CacheStats getStats() {
+        CacheStats stats = new CacheStats();
+        stats.setName(name);
+        stats.setHitCount(hitCount.get());
+        stats.setMissCount(missCount.get());
+        stats.setEvictionCount(evictionCount.get());
+        stats.setInvalidationCount(invalidationCount.get());
+        synchronized (this) {
+            stats.setSize(map.size());
+            stats.setWeight(currentWeight);
+        }
+        stats.setMaxWeight(maxWeight);
+        return stats;
+    }
+
+    // ===== 失效紀元：防止載入期間發生的失效被舊資料覆蓋 =====
+
+    private long epoch;
+    private long clearedAtEpoch;
+    private final Map<K, Long> invalidatedAt = new HashMap<>();
+
+    private synchronized long currentVersion(K key) {
+        Long v = invalidatedAt.get(key);
+        return v != null ? Math.max(v, clearedAtEpoch) : clearedAtEpoch;
+    }
+
+    private synchronized void bumpVersion(K key) {
+        // 只需記住近期失效的鍵，超過上限時整體推進紀元，避免無限成長
+        if (invalidatedAt.size() >= 4096) {
+            invalidatedAt.clear();
+            clearedAtEpoch = ++epoch;
+        }
+        invalidatedAt.put(key, ++epoch);
+    }
+
+    private void putIfVersionUnchanged(K key, V value, long version) {
+        int weight = Math.max(1, weigher.applyAsInt(value));
+        synchronized (this) {
+            if (currentVersion(key) != version) {
+                return;
+            }
+            insert(key, value, weight);
+        }
+    }
+
+    private void insert(K key, V value, int weight) {
+        // 單一項目超過總容量時不快取
+        if (weight > maxWeight) {
+            return;
+        }
+
+        Entry<V> previous = map.put(key, new Entry<>(value, weight));
+        if (previous != null) {
+            currentWeight -= previous.weight;
+        }
+        currentWeight += weight;
+
+        Iterator<Map.Entry<K, Entry<V>>> it = map.entrySet().iterator();
+        while (currentWeight > maxWeight && it.hasNext()) {
+            Map.Entry<K, Entry<V>> eldest = it.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            currentWeight -= eldest.getValue().weight;
+            it.remove();
+            evictionCount.incrementAndGet();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final int weight;
+
+        private Entry(V value, int weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+}
@@ -1,15 +1,32 @@
 package com.example.speakbook_backend.controller;
 
 import com.example.speakbook_backend.Response;
+import com.example.speakbook_backend.cache.AudioFileCacheStats;
 import com.example.speakbook_backend.dto.AudioDTO;
+import com.example.speakbook_backend.dto.AudioImportResult;
+import com.example.speakbook_backend.dto.AudioPeaksDTO;
+import com.example.speakbook_backend.dto.AudioVariantDTO;
 import com.example.speakbook_backend.dto.PageRequest;
 import com.example.speakbook_backend.dto.PageResponse;
-import com.example.speakbook_backend.dto.UploadResponse;
+import com.example.speakbook_backend.dto.ResourceVersion;
+import com.example.speakbook_backend.dto.UploadSessionDTO;
+import com.example.speakbook_backend.dto.UploadSessionRequest;
+import com.example.speakbook_backend.service.AudioDerivativeService;
+import com.example.speakbook_backend.service.AudioImportService;
+import com.example.speakbook_backend.service.AudioIngestService;
+import com.example.speakbook_backend.service.AudioPeaksService;
 import com.example.speakbook_backend.service.AudioService;
+import com.example.speakbook_backend.service.AudioUploadSessionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
 
 @RestController
@@ -21,7 +38,16 @@ public class AudioController {
     private AudioService audioService;
 
     @Autowired
-    private com.example.speakbook_backend.service.UploadService uploadService;
+    private AudioIngestService audioIngestService;
+
+    @Autowired
+    private AudioImportService audioImportService;
+
+    @Autowired
+    private AudioPeaksService audioPeaksService;
+
+    @Autowired
+    private AudioUploadSessionService audioUploadSessionService;
 
     /**
      * 創建音訊
@@ -60,10 +86,16 @@ public class AudioController {
     /**
      * 獲取音訊詳情
      * GET /api/audios/{id}
+     * 支援 If-None-Match / If-Modified-Since，未變更時回傳 304
      */
     @GetMapping("/{id}")
-    public Response<AudioDTO> getAudio(@PathVariable Long id) {
+    public Response<AudioDTO> getAudio(@PathVariable Long id, WebRequest webRequest) {
         try {
+            ResourceVersion version = audioService.getAudioVersion(id);
+            if (webRequest.checkNotModified(version.toETag("audio"), version.getLastModifiedMillis())) {
+                return null;
+            }
+
             AudioDTO audio = audioService.getAudioById(id);
             return Response.newSuccess(audio);
         } catch (RuntimeException e) {
@@ -73,6 +105,97 @@ public class AudioController {
         }
     }
 
+    /**
+     * 串流播放音訊
+     * GET /api/audios/{id}/stream?quality=
+     * 由本機磁碟快取提供，支援 Range 請求；未快取時先從遠端下載
+     * quality=low 時使用低位元率版本，尚未產生時回退到原始檔（見 X-Audio-Quality 標頭）
+     */
+    @GetMapping("/{id}/stream")
+    public Response<Void> streamAudio(@PathVariable Long id,
+                                      @RequestParam(defaultValue = AudioDerivativeService.QUALITY_ORIGINAL) String quality,
+                                      WebRequest webRequest,
+                                      HttpServletRequest request, HttpServletResponse response) {
+        try {
+            AudioDTO audio = audioService.getAudioById(id);
+            String url = audio.getUrl();
+            String servedQuality = AudioDerivativeService.QUALITY_ORIGINAL;
+            if (audio.getVariants() != null) {
+                for (AudioVariantDTO variant : audio.getVariants()) {
+                    if (variant.getQuality().equals(quality)) {
+                        url = variant.getUrl();
+                        servedQuality = quality;
+                    }
+                }
+            }
+
+            ResourceVersion version = audioService.getAudioVersion(id);
+            String etag = version.toETag("audio-" + servedQuality);
+            response.setHeader("X-Audio-Quality", servedQuality);
+            if (webRequest.checkNotModified(etag, version.getLastModifiedMillis())) {
+                return null;
+            }
+
+            Path file = audioService.getAudioFile(url);
+            String contentType = MediaTypeFactory.getMediaType(url)
+                    .orElse(MediaType.APPLICATION_OCTET_STREAM)
+                    .toString();
+
+            // 快取檔案可能在回應期間被淘汰刪除，不交給 sendfile 依檔名開啟
+            long sent = FileRangeWriter.write(file, contentType, etag, false, request, response);
+            audioService.recordBytesServed(sent);
+            return null;
+        } catch (RuntimeException e) {
+            return response.isCommitted() ? null : Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return response.isCommitted() ? null : Response.newFail("串流音訊失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 獲取音訊波形峰值
+     * GET /api/audios/{id}/peaks?points=
+     * 回傳二進位資料：每點兩個有號位元組（最小值、最大值），點數與時長見 X-Peaks-Points、X-Peaks-Duration-Ms
+     * @param points 需要的點數，0 表示原始解析度（每秒 100 點）
+     */
+    @GetMapping("/{id}/peaks")
+    public Response<Void> getAudioPeaks(@PathVariable Long id,
+                                        @RequestParam(defaultValue = "0") int points,
+                                        WebRequest webRequest, HttpServletResponse response) {
+        try {
+            ResourceVersion version = audioService.getAudioVersion(id);
+            if (webRequest.checkNotModified(version.toETag("peaks-" + points), version.getLastModifiedMillis())) {
+                return null;
+            }
+
+            AudioPeaksDTO peaks = audioPeaksService.getPeaks(id, points);
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+            response.setHeader("X-Peaks-Points", String.valueOf(peaks.getPoints()));
+            response.setHeader("X-Peaks-Duration-Ms", String.valueOf(peaks.getDurationMs()));
+            response.setContentLength(peaks.getData().length);
+            response.getOutputStream().write(peaks.getData());
+            response.getOutputStream().flush();
+            return null;
+        } catch (RuntimeException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("獲取波形失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 音訊磁碟快取統計（命中率、下載與送出位元組數）
+     * GET /api/audios/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public Response<AudioFileCacheStats> getAudioCacheStats() {
+        try {
+            return Response.newSuccess(audioService.getAudioFileCacheStats());
+        } catch (Exception e) {
+            return Response.newFail("獲取快取統計失敗：" + e.getMessage());
+        }
+    }
+
     /**
      * 獲取所有音訊
      * GET /api/audios
@@ -120,19 +243,22 @@ public class AudioController {
     /**
      * 分頁查詢音訊
      * GET /api/audios/page
+     * @param slice 不計算總數，只回傳 hasNext
      */
     @GetMapping("/page")
     public Response<PageResponse<AudioDTO>> getAudiosWithPagination(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) String sort) {
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "false") boolean slice) {
         try {
             PageRequest pageRequest = new PageRequest();
             pageRequest.setPage(page);
             pageRequest.setPageSize(size);
             pageRequest.setSearchKeyword(keyword);
             pageRequest.setSortBy(sort);
+            pageRequest.setSlice(slice);
 
             PageResponse<AudioDTO> pageResponse = audioService.getAudiosWithPagination(pageRequest);
             return Response.newSuccess(pageResponse);
@@ -158,30 +284,18 @@ public class AudioController {
 
             // 驗證檔案類型
             String contentType = file.getContentType();
-            if (contentType == null || !isValidAudioType(contentType)) {
+            if (contentType == null || !audioIngestService.isValidAudioType(contentType)) {
                 return Response.newFail("不支援的音訊格式，請上傳 MP3、WAV、OGG 或 M4A 格式");
             }
 
             // 驗證檔案大小（50MB）
-            long maxSize = 50 * 1024 * 1024; // 50MB
-            if (file.getSize() > maxSize) {
+            if (file.getSize() > AudioIngestService.MAX_AUDIO_SIZE) {
                 return Response.newFail("音訊檔案過大，請上傳小於 50MB 的音訊");
             }
 
-            // 1. 上傳到 Catbox.moe
-            UploadResponse uploadResponse = uploadService.uploadToCatbox(file);
-
-            // 2. 準備音訊數據
-            AudioDTO audioDTO = new AudioDTO();
-            audioDTO.setName(name != null && !name.trim().isEmpty() ? name : file.getOriginalFilename());
-            audioDTO.setUrl(uploadResponse.getUrl());
-            audioDTO.setFileSize((int) file.getSize());
-            audioDTO.setCategory(category);
-            
-            // 3. 保存到數據庫
-            Long audioId = audioService.createAudio(audioDTO);
-            AudioDTO createdAudio = audioService.getAudioById(audioId);
-            
+            // 解析資訊、上傳到儲存後端並保存到數據庫
+            AudioDTO createdAudio = audioIngestService.ingest(file, name, category);
+
             return Response.newSuccess(createdAudio);
 
         } catch (Exception e) {
@@ -190,16 +304,100 @@ public class AudioController {
     }
 
     /**
-     * 驗證音訊類型
+     * 批次匯入音訊
+     * POST /api/audios/import
+     * 並行上傳所有檔案後一次寫入數據庫，回傳每個檔案的處理結果
+     */
+    @PostMapping("/import")
+    public Response<List<AudioImportResult>> importAudios(
+            @RequestParam("files") List<MultipartFile> files,
+            @RequestParam(value = "category", required = false) String category) {
+        try {
+            List<AudioImportResult> results = audioImportService.importAudios(files, category);
+            return Response.newSuccess(results);
+        } catch (IllegalArgumentException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("批次匯入音訊失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 建立分段上傳工作階段
+     * POST /api/audios/uploads
+     */
+    @PostMapping("/uploads")
+    public Response<UploadSessionDTO> createUploadSession(@RequestBody UploadSessionRequest request,
+                                                          HttpServletRequest servletRequest) {
+        try {
+            return Response.newSuccess(audioUploadSessionService.createSession(request, servletRequest.getRemoteAddr()));
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("建立上傳工作階段失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 上傳區段，請求主體為原始位元組
+     * PUT /api/audios/uploads/{sessionId}?offset=
+     */
+    @PutMapping("/uploads/{sessionId}")
+    public Response<UploadSessionDTO> uploadChunk(@PathVariable String sessionId,
+                                                  @RequestParam long offset,
+                                                  HttpServletRequest request) {
+        try {
+            UploadSessionDTO session = audioUploadSessionService.writeChunk(
+                    sessionId, offset, request.getInputStream(), request.getContentLengthLong());
+            return Response.newSuccess(session);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("上傳區段失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 查詢上傳進度與已收到的區段
+     * GET /api/audios/uploads/{sessionId}
+     */
+    @GetMapping("/uploads/{sessionId}")
+    public Response<UploadSessionDTO> getUploadSession(@PathVariable String sessionId) {
+        try {
+            return Response.newSuccess(audioUploadSessionService.getSession(sessionId));
+        } catch (Exception e) {
+            return Response.newFail("查詢上傳工作階段失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 完成分段上傳並保存到數據庫
+     * POST /api/audios/uploads/{sessionId}/complete
+     */
+    @PostMapping("/uploads/{sessionId}/complete")
+    public Response<AudioDTO> completeUploadSession(@PathVariable String sessionId) {
+        try {
+            return Response.newSuccess(audioUploadSessionService.complete(sessionId));
+        } catch (IllegalStateException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("音訊上傳失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 放棄分段上傳
+     * DELETE /api/audios/uploads/{sessionId}
      */
-    private boolean isValidAudioType(String contentType) {
-        return contentType.equals("audio/mpeg") ||      // MP3
-               contentType.equals("audio/mp3") ||       // MP3
-               contentType.equals("audio/wav") ||       // WAV
-               contentType.equals("audio/wave") ||      // WAV
-               contentType.equals("audio/x-wav") ||     // WAV
-               contentType.equals("audio/ogg") ||       // OGG
-               contentType.equals("audio/x-m4a") ||     // M4A
-               contentType.equals("audio/mp4");         // M4A
+    @DeleteMapping("/uploads/{sessionId}")
+    public Response<Void> abortUploadSession(@PathVariable String sessionId) {
+        try {
+            audioUploadSessionService.abort(sessionId);
+            return Response.newSuccess(null);
+        } catch (IllegalStateException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("取消上傳失敗：" + e.getMessage());
+        }
     }
 }
@@ -1,13 +1,28 @@
 package com.example.speakbook_backend.controller;
 
 import com.example.speakbook_backend.Response;
+import com.example.speakbook_backend.cache.BookResponseCache;
+import com.example.speakbook_backend.cache.CacheStats;
+import com.example.speakbook_backend.cache.SerializedResponse;
+import com.example.speakbook_backend.converter.BookConverter;
 import com.example.speakbook_backend.dto.BookDTO;
+import com.example.speakbook_backend.dto.BookPageDTO;
+import com.example.speakbook_backend.dto.HotspotChangeSummary;
+import com.example.speakbook_backend.dto.HotspotDTO;
 import com.example.speakbook_backend.dto.PageRequest;
 import com.example.speakbook_backend.dto.PageResponse;
+import com.example.speakbook_backend.dto.ResourceVersion;
+import com.example.speakbook_backend.media.AudioBundle;
 import com.example.speakbook_backend.service.BookService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -18,6 +33,9 @@ public class BookController {
     @Autowired
     private BookService bookService;
 
+    @Autowired
+    private BookResponseCache bookResponseCache;
+
     /**
      * 創建教材（發布）
      * POST /api/books
@@ -57,8 +75,9 @@ public class BookController {
     @PutMapping("/{id}")
     public Response<BookDTO> updateBook(@PathVariable Long id, @RequestBody BookDTO bookDTO) {
         try {
-            Long bookId = bookService.updateBook(id, bookDTO);
-            BookDTO updatedBook = bookService.getBookById(bookId);
+            HotspotChangeSummary hotspotChanges = bookService.updateBook(id, bookDTO);
+            BookDTO updatedBook = BookConverter.copyOf(bookService.getBookById(id));
+            updatedBook.setHotspotChanges(hotspotChanges);
             return Response.newSuccess(updatedBook);
         } catch (RuntimeException e) {
             return Response.newFail(e.getMessage());
@@ -67,13 +86,45 @@ public class BookController {
         }
     }
 
+    /**
+     * 獲取教材詳情快取統計（命中、未命中、淘汰次數）
+     * GET /api/books/cache/stats
+     */
+    @GetMapping("/cache/stats")
+    public Response<List<CacheStats>> getBookCacheStats() {
+        try {
+            return Response.newSuccess(List.of(
+                    bookService.getBookCacheStats(),
+                    bookResponseCache.getDetailStats(),
+                    bookResponseCache.getPageStats(),
+                    bookService.getHotspotIndexStats()
+            ));
+        } catch (Exception e) {
+            return Response.newFail("獲取快取統計失敗：" + e.getMessage());
+        }
+    }
+
     /**
      * 獲取教材詳情
      * GET /api/books/{id}
+     * 支援 If-None-Match / If-Modified-Since，未變更時回傳 304 且不載入教材內容
+     * 已發布教材直接寫出預序列化的 JSON（或 gzip）位元組
      */
     @GetMapping("/{id}")
-    public Response<BookDTO> getBook(@PathVariable Long id) {
+    public Response<BookDTO> getBook(@PathVariable Long id, WebRequest webRequest,
+                                     HttpServletRequest request, HttpServletResponse response) {
         try {
+            ResourceVersion version = bookService.getBookVersion(id);
+            if (webRequest.checkNotModified(version.toETag("book"), version.getLastModifiedMillis())) {
+                return null;
+            }
+
+            SerializedResponse serialized = bookResponseCache.getDetail(id, () -> bookService.getBookById(id));
+            if (serialized != null) {
+                writeSerialized(serialized, request, response);
+                return null;
+            }
+
             BookDTO book = bookService.getBookById(id);
             return Response.newSuccess(book);
         } catch (RuntimeException e) {
@@ -83,14 +134,95 @@ public class BookController {
         }
     }
 
+    /**
+     * 點擊座標命中的熱區
+     * GET /api/books/{id}/hit?x=&y=&page=
+     * 由教材的空間索引查詢，未命中時 data 為 null
+     */
+    @GetMapping("/{id}/hit")
+    public Response<HotspotDTO> hitHotspot(@PathVariable Long id, @RequestParam int x, @RequestParam int y,
+                                           @RequestParam(defaultValue = "1") int page) {
+        try {
+            HotspotDTO hotspot = bookService.findHotspotAt(id, page, x, y);
+            return Response.newSuccess(hotspot);
+        } catch (RuntimeException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("查詢熱區失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 下載教材音訊包
+     * GET /api/books/{id}/audio-bundle
+     * tar 格式，第一個檔案為 manifest.json（各音訊的位移與大小），支援 Range 續傳
+     */
+    @GetMapping("/{id}/audio-bundle")
+    public Response<Void> getAudioBundle(@PathVariable Long id, WebRequest webRequest,
+                                         HttpServletRequest request, HttpServletResponse response) {
+        try {
+            ResourceVersion version = bookService.getBookVersion(id);
+            String etag = version.toETag("bundle");
+            if (webRequest.checkNotModified(etag, version.getLastModifiedMillis())) {
+                return null;
+            }
+
+            try (AudioBundle bundle = bookService.getAudioBundle(id)) {
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"book-" + id + "-audio.tar\"");
+                FileRangeWriter.write(bundle, etag, request, response);
+            }
+            return null;
+        } catch (RuntimeException e) {
+            return response.isCommitted() ? null : Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return response.isCommitted() ? null : Response.newFail("下載音訊包失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 獲取教材單頁的熱區
+     * GET /api/books/{id}/pages/{n}
+     */
+    @GetMapping("/{id}/pages/{n}")
+    public Response<BookPageDTO> getBookPage(@PathVariable Long id, @PathVariable int n) {
+        try {
+            List<BookPageDTO> pages = bookService.getBookPages(id, n, n);
+            return Response.newSuccess(pages.get(0));
+        } catch (RuntimeException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("獲取教材頁面失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 預取教材連續多頁的熱區
+     * GET /api/books/{id}/pages?from=&to=
+     */
+    @GetMapping("/{id}/pages")
+    public Response<List<BookPageDTO>> getBookPages(@PathVariable Long id,
+                                                    @RequestParam int from,
+                                                    @RequestParam int to) {
+        try {
+            List<BookPageDTO> pages = bookService.getBookPages(id, from, to);
+            return Response.newSuccess(pages);
+        } catch (RuntimeException e) {
+            return Response.newFail(e.getMessage());
+        } catch (Exception e) {
+            return Response.newFail("獲取教材頁面失敗：" + e.getMessage());
+        }
+    }
+
     /**
      * 獲取所有已發布的教材
      * GET /api/books
+     * @param summary 為 true 時不含熱區
      */
     @GetMapping
-    public Response<List<BookDTO>> getAllPublishedBooks() {
+    public Response<List<BookDTO>> getAllPublishedBooks(
+            @RequestParam(defaultValue = "false") boolean summary) {
         try {
-            List<BookDTO> books = bookService.getAllPublishedBooks();
+            List<BookDTO> books = bookService.getAllPublishedBooks(summary);
             return Response.newSuccess(books);
         } catch (Exception e) {
             return Response.newFail("獲取教材列表失敗：" + e.getMessage());
@@ -100,11 +232,14 @@ public class BookController {
     /**
      * 根據分類獲取教材
      * GET /api/books/category/{category}
+     * @param summary 為 true 時不含熱區
      */
     @GetMapping("/category/{category}")
-    public Response<List<BookDTO>> getBooksByCategory(@PathVariable String category) {
+    public Response<List<BookDTO>> getBooksByCategory(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "false") boolean summary) {
         try {
-            List<BookDTO> books = bookService.getBooksByCategory(category);
+            List<BookDTO> books = bookService.getBooksByCategory(category, summary);
             return Response.newSuccess(books);
         } catch (Exception e) {
             return Response.newFail("獲取教材列表失敗：" + e.getMessage());
@@ -135,6 +270,10 @@ public class BookController {
      * @param sortBy 排序欄位
      * @param sortDirection 排序方向（ASC/DESC）
      * @param searchKeyword 搜尋關鍵字
+     * @param summary 摘要模式（不含熱區）
+     * @param cursorMode 使用游標分頁（依建立時間排序且無關鍵字時有效）
+     * @param cursor 上一次回應的 nextCursor / prevCursor
+     * @param slice 不計算總數，只回傳 hasNext
      */
     @GetMapping("/page")
     public Response<PageResponse<BookDTO>> getBooksWithPagination(
@@ -142,7 +281,13 @@ public class BookController {
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(required = false) String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDirection,
-            @RequestParam(required = false) String searchKeyword) {
+            @RequestParam(required = false) String searchKeyword,
+            @RequestParam(defaultValue = "false") boolean summary,
+            @RequestParam(defaultValue = "false") boolean cursorMode,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean slice,
+            HttpServletRequest request,
+            HttpServletResponse response) {
         try {
             PageRequest pageRequest = new PageRequest();
             pageRequest.setPage(page);
@@ -150,11 +295,45 @@ public class BookController {
             pageRequest.setSortBy(sortBy);
             pageRequest.setSortDirection(sortDirection);
             pageRequest.setSearchKeyword(searchKeyword);
+            pageRequest.setSummary(summary);
+            pageRequest.setCursorMode(cursorMode);
+            pageRequest.setCursor(cursor);
+            pageRequest.setSlice(slice);
+
+            // 前幾頁直接寫出預序列化的回應
+            if (bookResponseCache.isCacheablePage(pageRequest)) {
+                SerializedResponse serialized = bookResponseCache.getPage(pageRequest,
+                        () -> bookService.getPublishedBooksWithPagination(pageRequest));
+                writeSerialized(serialized, request, response);
+                return null;
+            }
 
             PageResponse<BookDTO> result = bookService.getPublishedBooksWithPagination(pageRequest);
             return Response.newSuccess(result);
+        } catch (IllegalArgumentException e) {
+            return Response.newFail(e.getMessage());
         } catch (Exception e) {
             return Response.newFail("獲取教材列表失敗：" + e.getMessage());
         }
     }
+
+    /**
+     * 將預序列化的回應直接寫入輸出串流，用戶端支援時送出 gzip 版本
+     */
+    private void writeSerialized(SerializedResponse serialized, HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+        byte[] body = gzip ? serialized.getGzip() : serialized.getJson();
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        response.getOutputStream().flush();
+    }
 }
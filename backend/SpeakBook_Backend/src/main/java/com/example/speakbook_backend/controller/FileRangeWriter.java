@@ -0,0 +1,129 @@
+package com.example.speakbook_backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.example.speakbook_backend.media.AudioBundle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 以 HTTP Range 送出本機檔案或音訊包
+ * 單一檔案在容器支援 sendfile 時交由容器零拷貝傳送，否則以 FileChannel.transferTo 寫出
+ * sendfile 會在處理器返回後才依檔名開啟檔案，可能被刪除的檔案（例如音訊快取）須停用 sendfile
+ */
+final class FileRangeWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileRangeWriter() {
+    }
+
+    /**
+     * 寫出檔案（或請求的單一區段），回傳送出的位元組數
+     * 多段 Range 不支援，改為回傳完整檔案；超出範圍時回傳 416
+     * @param allowSendfile 檔案在回應送完前不會被刪除時才可交給容器 sendfile
+     */
+    static long write(Path file, String contentType, String etag, boolean allowSendfile,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] range = prepare(channel.size(), contentType, etag, request, response);
+            if (range == null) {
+                return 0;
+            }
+            long start = range[0];
+            long end = range[1];
+            long count = end - start + 1;
+
+            if (allowSendfile && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // 由 Tomcat 在回應完成後以 sendfile 傳送，不經過 JVM 堆積
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return count;
+            }
+
+            // 已開啟的 channel 在檔案被刪除後仍可讀取完整內容
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            response.flushBuffer();
+            return count - remaining;
+        }
+    }
+
+    /**
+     * 寫出音訊包（或請求的單一區段），回傳送出的位元組數
+     */
+    static long write(AudioBundle bundle, String etag,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        long[] range = prepare(bundle.length(), AudioBundle.CONTENT_TYPE, etag, request, response);
+        if (range == null) {
+            return 0;
+        }
+        long sent = bundle.writeTo(Channels.newChannel(response.getOutputStream()), range[0], range[1] - range[0] + 1);
+        response.flushBuffer();
+        return sent;
+    }
+
+    /**
+     * 依 Range / If-Range 設定狀態碼與標頭，回傳要送出的 [start, end]
+     * 不需要送出內容（HEAD、空內容或 416）時回傳 null
+     */
+    private static long[] prepare(long length, String contentType, String etag,
+                                  HttpServletRequest request, HttpServletResponse response) {
+        long start = 0;
+        long end = length - 1;
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentType(contentType);
+        if (etag != null) {
+            response.setHeader(HttpHeaders.ETAG, etag);
+        }
+
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        boolean rangeApplies = rangeHeader != null && (ifRange == null || ifRange.equals(etag));
+        if (rangeApplies) {
+            try {
+                List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+                if (ranges.size() == 1) {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            } catch (IllegalArgumentException e) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setContentLength(0);
+                return null;
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if ("HEAD".equals(request.getMethod()) || count <= 0) {
+            return null;
+        }
+        return new long[]{start, end};
+    }
+}
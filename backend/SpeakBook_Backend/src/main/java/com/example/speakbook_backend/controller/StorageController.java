@@ -0,0 +1,62 @@
+package com.example.speakbook_backend.controller;
+
+import com.example.speakbook_backend.Response;
+import com.example.speakbook_backend.storage.LocalStorageProvider;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.file.Path;
+
+/**
+ * 本機儲存的檔案下載
+ * 檔名即內容雜湊，內容永不改變，因此可長期快取
+ * 只有白名單內的圖片與音訊以原類型提供，其他檔案一律以附件下載，並禁止瀏覽器猜測類型
+ */
+@RestController
+@RequestMapping("/api/files")
+@CrossOrigin(origins = "*")
+public class StorageController {
+
+    @Autowired
+    private LocalStorageProvider localStorageProvider;
+
+    /**
+     * 下載檔案（支援 Range）
+     * GET /api/files/{ab}/{cd}/{sha256}.{ext}
+     */
+    @GetMapping("/{shard1}/{shard2}/{name:.+}")
+    public Response<Void> getFile(@PathVariable String shard1, @PathVariable String shard2,
+                                  @PathVariable String name, WebRequest webRequest,
+                                  HttpServletRequest request, HttpServletResponse response) {
+        try {
+            Path file = localStorageProvider.resolveKey(shard1 + "/" + shard2 + "/" + name);
+            if (file == null) {
+                response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return Response.newFail("檔案不存在：" + name);
+            }
+
+            int dot = name.indexOf('.');
+            String etag = "\"" + (dot >= 0 ? name.substring(0, dot) : name) + "\"";
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable");
+            response.setHeader("X-Content-Type-Options", "nosniff");
+            if (webRequest.checkNotModified(etag)) {
+                return null;
+            }
+
+            String contentType = LocalStorageProvider.contentTypeOf(name);
+            if (contentType == null) {
+                contentType = MediaType.APPLICATION_OCTET_STREAM_VALUE;
+                response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment");
+            }
+            FileRangeWriter.write(file, contentType, etag, true, request, response);
+            return null;
+        } catch (Exception e) {
+            return response.isCommitted() ? null : Response.newFail("下載檔案失敗：" + e.getMessage());
+        }
+    }
+}
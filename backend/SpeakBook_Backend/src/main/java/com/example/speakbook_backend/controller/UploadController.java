@@ -1,12 +1,20 @@
 package com.example.speakbook_backend.controller;
 
 import com.example.speakbook_backend.Response;
+import com.example.speakbook_backend.dto.UploadJobDTO;
 import com.example.speakbook_backend.dto.UploadResponse;
+import com.example.speakbook_backend.http.RemoteHostStats;
+import com.example.speakbook_backend.http.RemoteHttpClient;
+import com.example.speakbook_backend.service.AudioIngestService;
+import com.example.speakbook_backend.service.ImageDerivativeService;
+import com.example.speakbook_backend.service.UploadJobService;
 import com.example.speakbook_backend.service.UploadService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/upload")
 @CrossOrigin(origins = "*")
@@ -15,12 +23,27 @@ public class UploadController {
     @Autowired
     private UploadService uploadService;
 
+    @Autowired
+    private UploadJobService uploadJobService;
+
+    @Autowired
+    private ImageDerivativeService imageDerivativeService;
+
+    @Autowired
+    private AudioIngestService audioIngestService;
+
+    @Autowired
+    private RemoteHttpClient remoteHttpClient;
+
     /**
-     * 上傳圖片到 Catbox.moe
+     * 上傳圖片
      * POST /api/upload/image
+     * 上傳後於背景產生縮圖與中等尺寸版本，教材的 coverThumbnailUrl / coverMediumUrl 在產生完成後出現
+     * @param async 為 true 時立即回傳 jobId，由背景工作上傳，以 GET /api/upload/jobs/{id} 查詢結果
      */
     @PostMapping("/image")
-    public Response<UploadResponse> uploadImage(@RequestParam("file") MultipartFile file) {
+    public Response<UploadResponse> uploadImage(@RequestParam("file") MultipartFile file,
+                                                @RequestParam(defaultValue = "false") boolean async) {
         try {
             // 驗證檔案
             if (file.isEmpty()) {
@@ -29,18 +52,18 @@ public class UploadController {
 
             // 驗證檔案類型
             String contentType = file.getContentType();
-            if (contentType == null || !isValidImageType(contentType)) {
+            if (contentType == null || !uploadService.isValidImageType(contentType)) {
                 return Response.newFail("不支援的圖片格式，請上傳 JPG、PNG、GIF 或 WebP 格式");
             }
 
             // 驗證檔案大小（20MB）
-            long maxSize = 20 * 1024 * 1024; // 20MB
-            if (file.getSize() > maxSize) {
+            if (file.getSize() > UploadService.MAX_IMAGE_SIZE) {
                 return Response.newFail("圖片檔案過大，請上傳小於 20MB 的圖片");
             }
 
-            // 上傳到 Catbox.moe
-            UploadResponse uploadResponse = uploadService.uploadToCatbox(file);
+            // 上傳到儲存後端
+            UploadResponse uploadResponse = async ? submitJob(file) : uploadService.uploadFile(file);
+            imageDerivativeService.scheduleDerivatives(file, uploadResponse.getContentHash());
             return Response.newSuccess(uploadResponse);
 
         } catch (Exception e) {
@@ -49,11 +72,13 @@ public class UploadController {
     }
 
     /**
-     * 上傳音訊到 Catbox.moe
+     * 上傳音訊
      * POST /api/upload/audio
+     * @param async 為 true 時立即回傳 jobId，由背景工作上傳，以 GET /api/upload/jobs/{id} 查詢結果
      */
     @PostMapping("/audio")
-    public Response<UploadResponse> uploadAudio(@RequestParam("file") MultipartFile file) {
+    public Response<UploadResponse> uploadAudio(@RequestParam("file") MultipartFile file,
+                                                @RequestParam(defaultValue = "false") boolean async) {
         try {
             // 驗證檔案
             if (file.isEmpty()) {
@@ -62,18 +87,17 @@ public class UploadController {
 
             // 驗證檔案類型
             String contentType = file.getContentType();
-            if (contentType == null || !isValidAudioType(contentType)) {
+            if (contentType == null || !audioIngestService.isValidAudioType(contentType)) {
                 return Response.newFail("不支援的音訊格式，請上傳 MP3、WAV、OGG 或 M4A 格式");
             }
 
             // 驗證檔案大小（50MB）
-            long maxSize = 50 * 1024 * 1024; // 50MB
-            if (file.getSize() > maxSize) {
+            if (file.getSize() > AudioIngestService.MAX_AUDIO_SIZE) {
                 return Response.newFail("音訊檔案過大，請上傳小於 50MB 的音訊");
             }
 
-            // 上傳到 Catbox.moe
-            UploadResponse uploadResponse = uploadService.uploadToCatbox(file);
+            // 上傳到儲存後端
+            UploadResponse uploadResponse = async ? submitJob(file) : uploadService.uploadFile(file);
             return Response.newSuccess(uploadResponse);
 
         } catch (Exception e) {
@@ -82,27 +106,38 @@ public class UploadController {
     }
 
     /**
-     * 驗證圖片類型
+     * 查詢非同步上傳工作
+     * GET /api/upload/jobs/{id}
      */
-    private boolean isValidImageType(String contentType) {
-        return contentType.equals("image/jpeg") ||
-               contentType.equals("image/jpg") ||
-               contentType.equals("image/png") ||
-               contentType.equals("image/gif") ||
-               contentType.equals("image/webp");
+    @GetMapping("/jobs/{id}")
+    public Response<UploadJobDTO> getUploadJob(@PathVariable String id) {
+        try {
+            return Response.newSuccess(uploadJobService.getJob(id));
+        } catch (Exception e) {
+            return Response.newFail("查詢上傳工作失敗：" + e.getMessage());
+        }
+    }
+
+    /**
+     * 遠端儲存呼叫統計（每個主機的延遲、錯誤數、拒絕數與斷路器狀態）
+     * GET /api/upload/remote/stats
+     */
+    @GetMapping("/remote/stats")
+    public Response<List<RemoteHostStats>> getRemoteStats() {
+        try {
+            return Response.newSuccess(remoteHttpClient.getStats());
+        } catch (Exception e) {
+            return Response.newFail("獲取遠端呼叫統計失敗：" + e.getMessage());
+        }
     }
 
     /**
-     * 驗證音訊類型
+     * 建立非同步上傳工作，回傳只含 jobId 與檔名的結果
      */
-    private boolean isValidAudioType(String contentType) {
-        return contentType.equals("audio/mpeg") ||      // MP3
-               contentType.equals("audio/mp3") ||       // MP3
-               contentType.equals("audio/wav") ||       // WAV
-               contentType.equals("audio/wave") ||      // WAV
-               contentType.equals("audio/x-wav") ||     // WAV
-               contentType.equals("audio/ogg") ||       // OGG
-               contentType.equals("audio/x-m4a") ||     // M4A
-               contentType.equals("audio/mp4");         // M4A
+    private UploadResponse submitJob(MultipartFile file) throws Exception {
+        UploadJobDTO job = uploadJobService.submit(file);
+        UploadResponse response = new UploadResponse(null, job.getFileName());
+        response.setJobId(job.getId());
+        return response;
     }
 }
@@ -1,6 +1,8 @@
 package com.example.speakbook_backend.controller;
 
+import com.example.speakbook_backend.dto.UploadResponse;
 import com.example.speakbook_backend.entity.User;
+import com.example.speakbook_backend.service.UploadService;
 import com.example.speakbook_backend.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
@@ -12,18 +14,15 @@ import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
-import jakarta.annotation.PostConstruct;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.Collections;
 
 /**
@@ -37,17 +36,11 @@ public class UserController {
     @Autowired
     private UserService userService;
 
-    // 頭像存儲目錄
-    private final String AVATAR_UPLOAD_DIR = "src/main/resources/static/avatars";
+    @Autowired
+    private UploadService uploadService;
 
-    @PostConstruct
-    public void init() {
-        // 創建頭像存儲目錄
-        File directory = new File(AVATAR_UPLOAD_DIR);
-        if (!directory.exists()) {
-            directory.mkdirs();
-        }
-    }
+    // 舊版頭像存儲目錄（新頭像改由儲存後端保存，此目錄只供讀取與清除既有頭像）
+    private final String AVATAR_UPLOAD_DIR = "src/main/resources/static/avatars";
 
     /**
      * 建立新用戶
@@ -173,38 +166,40 @@ public class UserController {
 
         User user = userOpt.get();
 
+        // 與 /api/upload/image 相同的驗證，避免以頭像上傳 HTML、SVG 等可執行內容
+        if (file.isEmpty()) {
+            return ResponseEntity.badRequest().body("請選擇要上傳的圖片");
+        }
+        String contentType = file.getContentType();
+        if (contentType == null || !uploadService.isValidImageType(contentType)) {
+            return ResponseEntity.badRequest().body("不支援的圖片格式，請上傳 JPG、PNG、GIF 或 WebP 格式");
+        }
+        if (file.getSize() > UploadService.MAX_IMAGE_SIZE) {
+            return ResponseEntity.badRequest().body("圖片檔案過大，請上傳小於 20MB 的圖片");
+        }
+
         try {
-            // 刪除舊頭像（如果存在）
-            if (user.getAvatar() != null && !user.getAvatar().isEmpty()) {
-                File oldAvatar = new File(AVATAR_UPLOAD_DIR, user.getAvatar());
+            // 上傳到儲存後端（與其他檔案相同，以內容雜湊去重）
+            UploadResponse uploadResponse = uploadService.uploadFile(file);
+
+            // 刪除舊版本機頭像（如果存在）；儲存後端的檔案可能被其他資料共用，不刪除
+            String oldAvatarPath = user.getAvatar();
+            if (oldAvatarPath != null && !oldAvatarPath.isEmpty() && !isAvatarUrl(oldAvatarPath)) {
+                File oldAvatar = new File(AVATAR_UPLOAD_DIR, oldAvatarPath);
                 if (oldAvatar.exists()) {
                     oldAvatar.delete();
                 }
             }
 
-            // 獲取文件擴展名
-            String originalFilename = file.getOriginalFilename();
-            String extension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-
-            // 生成新的文件名
-            String fileName = id + "_" + UUID.randomUUID().toString() + extension;
-            Path targetLocation = Paths.get(AVATAR_UPLOAD_DIR).resolve(fileName);
-
-            // 保存文件
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
             // 更新用戶頭像路徑
-            user.setAvatar(fileName);
+            user.setAvatar(uploadResponse.getUrl());
             userService.updateUser(user);
 
             return ResponseEntity.ok().body(Map.of(
                     "message", "頭像上傳成功",
-                    "avatarPath", fileName
+                    "avatarPath", uploadResponse.getUrl()
             ));
-        } catch (IOException e) {
+        } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("頭像上傳失敗: " + e.getMessage());
         }
@@ -225,9 +220,9 @@ public class UserController {
         User user = userOpt.get();
         String avatarPath = user.getAvatar();
 
-        // 檢查是否為外部 URL
-        if (avatarPath.startsWith("http://") || avatarPath.startsWith("https://")) {
-            // 如果是外部 URL，重定向到該 URL
+        // 檢查是否為儲存後端的 URL
+        if (isAvatarUrl(avatarPath)) {
+            // 重定向到該 URL
             return ResponseEntity.status(HttpStatus.FOUND)
                     .header("Location", avatarPath)
                     .build();
@@ -263,4 +258,11 @@ public class UserController {
                     .body("無法獲取頭像: " + e.getMessage());
         }
     }
+
+    /**
+     * 是否為儲存後端的 URL（外部網址或本機儲存的路徑），否則為舊版頭像目錄中的檔名
+     */
+    private boolean isAvatarUrl(String avatarPath) {
+        return avatarPath.startsWith("http://") || avatarPath.startsWith("https://") || avatarPath.startsWith("/");
+    }
 }
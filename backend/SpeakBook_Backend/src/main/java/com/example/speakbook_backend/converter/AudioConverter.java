@@ -21,6 +21,10 @@ public class AudioConverter {
         dto.setUrl(audio.getUrl());
         dto.setDuration(audio.getDuration());
         dto.setFileSize(audio.getFileSize());
+        dto.setSampleRate(audio.getSampleRate());
+        dto.setChannels(audio.getChannels());
+        dto.setBitrate(audio.getBitrate());
+        dto.setContentHash(audio.getContentHash());
         dto.setCategory(audio.getCategory());
         dto.setCreatedAt(audio.getCreatedAt());
 
@@ -41,6 +45,10 @@ public class AudioConverter {
         audio.setUrl(dto.getUrl());
         audio.setDuration(dto.getDuration());
         audio.setFileSize(dto.getFileSize());
+        audio.setSampleRate(dto.getSampleRate());
+        audio.setChannels(dto.getChannels());
+        audio.setBitrate(dto.getBitrate());
+        audio.setContentHash(dto.getContentHash());
         audio.setCategory(dto.getCategory());
         audio.setCreatedAt(dto.getCreatedAt());
 
@@ -60,5 +68,19 @@ public class AudioConverter {
         audio.setDuration(dto.getDuration());
         audio.setFileSize(dto.getFileSize());
         audio.setCategory(dto.getCategory());
+
+        // 技術資訊由上傳時解析，編輯表單未帶值時保留原值
+        if (dto.getSampleRate() != null) {
+            audio.setSampleRate(dto.getSampleRate());
+        }
+        if (dto.getChannels() != null) {
+            audio.setChannels(dto.getChannels());
+        }
+        if (dto.getBitrate() != null) {
+            audio.setBitrate(dto.getBitrate());
+        }
+        if (dto.getContentHash() != null) {
+            audio.setContentHash(dto.getContentHash());
+        }
     }
 }
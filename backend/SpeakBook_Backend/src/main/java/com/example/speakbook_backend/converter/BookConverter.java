@@ -8,6 +8,7 @@ import com.example.speakbook_backend.entity.Hotspot;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class BookConverter {
@@ -17,6 +18,37 @@ public class BookConverter {
             return null;
         }
 
+        return convertToDTO(book, book.getHotspots());
+    }
+
+    /**
+     * 使用已預先載入的熱區轉換，避免觸發 Book.hotspots 的延遲載入
+     */
+    public static BookDTO convertToDTO(Book book, List<Hotspot> hotspots) {
+        BookDTO dto = convertToSummaryDTO(book);
+        if (dto == null) {
+            return null;
+        }
+
+        // 轉換熱區
+        if (hotspots != null) {
+            List<HotspotDTO> hotspotDTOs = hotspots.stream()
+                    .map(BookConverter::convertHotspotToDTO)
+                    .collect(Collectors.toList());
+            dto.setHotspots(hotspotDTOs);
+        }
+
+        return dto;
+    }
+
+    /**
+     * 摘要轉換（不含熱區），供列表頁使用
+     */
+    public static BookDTO convertToSummaryDTO(Book book) {
+        if (book == null) {
+            return null;
+        }
+
         BookDTO dto = new BookDTO();
         dto.setId(book.getId());
         dto.setTitle(book.getTitle());
@@ -31,14 +63,7 @@ public class BookConverter {
         dto.setCreatedAt(book.getCreatedAt());
         dto.setUpdatedAt(book.getUpdatedAt());
         dto.setPublishedAt(book.getPublishedAt());
-
-        // 轉換熱區
-        if (book.getHotspots() != null) {
-            List<HotspotDTO> hotspotDTOs = book.getHotspots().stream()
-                    .map(BookConverter::convertHotspotToDTO)
-                    .collect(Collectors.toList());
-            dto.setHotspots(hotspotDTOs);
-        }
+        dto.setRevision(book.getRevision());
 
         return dto;
     }
@@ -91,7 +116,9 @@ public class BookConverter {
         dto.setWidth(hotspot.getWidth());
         dto.setHeight(hotspot.getHeight());
         dto.setAudioUrl(hotspot.getAudioUrl());
+        dto.setAudioId(hotspot.getAudioId());
         dto.setSortOrder(hotspot.getSortOrder());
+        dto.setPage(hotspot.getPageNumber() != null ? hotspot.getPageNumber() : 1);
 
         return dto;
     }
@@ -109,8 +136,52 @@ public class BookConverter {
         hotspot.setWidth(dto.getWidth());
         hotspot.setHeight(dto.getHeight());
         hotspot.setAudioUrl(dto.getAudioUrl());
+        hotspot.setAudioId(dto.getAudioId());
         hotspot.setSortOrder(dto.getSortOrder());
+        hotspot.setPageNumber(dto.getPage() != null ? dto.getPage() : 1);
 
         return hotspot;
     }
+
+    /**
+     * 比較兩個熱區的內容是否相同（不比較 ID 與所屬教材）
+     */
+    public static boolean isSameHotspot(Hotspot a, Hotspot b) {
+        return Objects.equals(a.getLabel(), b.getLabel())
+                && Objects.equals(a.getX(), b.getX())
+                && Objects.equals(a.getY(), b.getY())
+                && Objects.equals(a.getWidth(), b.getWidth())
+                && Objects.equals(a.getHeight(), b.getHeight())
+                && Objects.equals(a.getAudioUrl(), b.getAudioUrl())
+                && Objects.equals(a.getAudioId(), b.getAudioId())
+                && Objects.equals(a.getSortOrder(), b.getSortOrder())
+                && Objects.equals(a.getPageNumber() != null ? a.getPageNumber() : 1,
+                                  b.getPageNumber() != null ? b.getPageNumber() : 1);
+    }
+
+    /**
+     * 淺複製 BookDTO（快取中的 DTO 為共用物件，需附加欄位時先複製）
+     */
+    public static BookDTO copyOf(BookDTO source) {
+        BookDTO dto = new BookDTO();
+        dto.setId(source.getId());
+        dto.setTitle(source.getTitle());
+        dto.setAuthor(source.getAuthor());
+        dto.setDescription(source.getDescription());
+        dto.setCategory(source.getCategory());
+        dto.setPages(source.getPages());
+        dto.setTargetAge(source.getTargetAge());
+        dto.setDifficulty(source.getDifficulty());
+        dto.setCoverImageUrl(source.getCoverImageUrl());
+        dto.setCoverThumbnailUrl(source.getCoverThumbnailUrl());
+        dto.setCoverMediumUrl(source.getCoverMediumUrl());
+        dto.setStatus(source.getStatus());
+        dto.setCreatedAt(source.getCreatedAt());
+        dto.setUpdatedAt(source.getUpdatedAt());
+        dto.setPublishedAt(source.getPublishedAt());
+        dto.setRevision(source.getRevision());
+        dto.setHotspots(source.getHotspots());
+        dto.setHotspotChanges(source.getHotspotChanges());
+        return dto;
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.speakbook_backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 音訊包中單一音訊檔的位置資訊
+ */
+public class AudioBundleEntry {
+
+    private String name;                               // 包內檔名
+    private String url;                                // 原始音訊 URL
+    private List<Long> hotspotIds = new ArrayList<>(); // 使用此音訊的熱區
+    private long offset;                               // 內容在整個音訊包中的起始位元組
+    private long size;                                 // 內容大小（位元組）
+
+    // Getters and Setters
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public List<Long> getHotspotIds() {
+        return hotspotIds;
+    }
+
+    public void setHotspotIds(List<Long> hotspotIds) {
+        this.hotspotIds = hotspotIds;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.speakbook_backend.dto;
+
+import java.util.List;
+
+/**
+ * 音訊包清單，作為包內第一個檔案（manifest.json）
+ */
+public class AudioBundleManifest {
+
+    private Long bookId;
+    private Long revision;
+    private List<AudioBundleEntry> entries; // 依熱區頁碼、排序順序排列
+
+    // Getters and Setters
+    public Long getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(Long bookId) {
+        this.bookId = bookId;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
+    public List<AudioBundleEntry> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<AudioBundleEntry> entries) {
+        this.entries = entries;
+    }
+}
@@ -1,6 +1,9 @@
 package com.example.speakbook_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
+import java.util.List;
 
 public class AudioDTO {
 
@@ -9,9 +12,16 @@ public class AudioDTO {
     private String url;
     private Integer duration; // 時長（秒）
     private Integer fileSize; // 檔案大小（字節）
+    private Integer sampleRate; // 取樣率（Hz）
+    private Integer channels; // 聲道數
+    private Integer bitrate; // 位元率（bps）
+    private String contentHash; // 檔案內容 SHA-256
     private String category;
     private LocalDateTime createdAt;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<AudioVariantDTO> variants; // 衍生版本（僅詳情回傳）
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -53,6 +63,38 @@ public class AudioDTO {
         this.fileSize = fileSize;
     }
 
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Integer sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Integer getChannels() {
+        return channels;
+    }
+
+    public void setChannels(Integer channels) {
+        this.channels = channels;
+    }
+
+    public Integer getBitrate() {
+        return bitrate;
+    }
+
+    public void setBitrate(Integer bitrate) {
+        this.bitrate = bitrate;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -68,4 +110,12 @@ public class AudioDTO {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public List<AudioVariantDTO> getVariants() {
+        return variants;
+    }
+
+    public void setVariants(List<AudioVariantDTO> variants) {
+        this.variants = variants;
+    }
 }
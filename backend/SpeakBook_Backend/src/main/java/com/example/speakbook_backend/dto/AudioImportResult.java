@@ -0,0 +1,61 @@
+package com.example.speakbook_backend.dto;
+
+/**
+ * 批次匯入中單一檔案的處理結果
+ */
+public class AudioImportResult {
+
+    private String fileName;
+    private boolean success;
+    private AudioDTO audio;   // 成功時為建立的音訊
+    private String message;   // 失敗原因
+
+    public static AudioImportResult success(String fileName, AudioDTO audio) {
+        AudioImportResult result = new AudioImportResult();
+        result.setFileName(fileName);
+        result.setSuccess(true);
+        result.setAudio(audio);
+        return result;
+    }
+
+    public static AudioImportResult fail(String fileName, String message) {
+        AudioImportResult result = new AudioImportResult();
+        result.setFileName(fileName);
+        result.setSuccess(false);
+        result.setMessage(message);
+        return result;
+    }
+
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public AudioDTO getAudio() {
+        return audio;
+    }
+
+    public void setAudio(AudioDTO audio) {
+        this.audio = audio;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
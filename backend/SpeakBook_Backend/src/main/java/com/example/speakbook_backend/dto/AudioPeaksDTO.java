@@ -0,0 +1,45 @@
+package com.example.speakbook_backend.dto;
+
+/**
+ * 波形峰值（data 為每點一組有號位元組的最小值、最大值）
+ */
+public class AudioPeaksDTO {
+
+    private int points;      // 點數
+    private long durationMs; // 音訊時長（毫秒）
+    private byte[] data;
+
+    public AudioPeaksDTO() {
+    }
+
+    public AudioPeaksDTO(int points, long durationMs, byte[] data) {
+        this.points = points;
+        this.durationMs = durationMs;
+        this.data = data;
+    }
+
+    // Getters and Setters
+    public int getPoints() {
+        return points;
+    }
+
+    public void setPoints(int points) {
+        this.points = points;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+}
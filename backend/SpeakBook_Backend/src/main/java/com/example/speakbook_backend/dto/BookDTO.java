@@ -1,5 +1,7 @@
 package com.example.speakbook_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -18,8 +20,18 @@ public class BookDTO {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private LocalDateTime publishedAt;
+    private Long revision;
     private List<HotspotDTO> hotspots;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String coverThumbnailUrl; // 封面縮圖，尚未產生時不輸出，用戶端回退到 coverImageUrl
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String coverMediumUrl; // 封面中等尺寸
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private HotspotChangeSummary hotspotChanges; // 僅更新教材的回應包含熱區異動統計
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -93,6 +105,22 @@ public class BookDTO {
         this.coverImageUrl = coverImageUrl;
     }
 
+    public String getCoverThumbnailUrl() {
+        return coverThumbnailUrl;
+    }
+
+    public void setCoverThumbnailUrl(String coverThumbnailUrl) {
+        this.coverThumbnailUrl = coverThumbnailUrl;
+    }
+
+    public String getCoverMediumUrl() {
+        return coverMediumUrl;
+    }
+
+    public void setCoverMediumUrl(String coverMediumUrl) {
+        this.coverMediumUrl = coverMediumUrl;
+    }
+
     public String getStatus() {
         return status;
     }
@@ -125,6 +153,14 @@ public class BookDTO {
         this.publishedAt = publishedAt;
     }
 
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
     public List<HotspotDTO> getHotspots() {
         return hotspots;
     }
@@ -132,4 +168,12 @@ public class BookDTO {
     public void setHotspots(List<HotspotDTO> hotspots) {
         this.hotspots = hotspots;
     }
+
+    public HotspotChangeSummary getHotspotChanges() {
+        return hotspotChanges;
+    }
+
+    public void setHotspotChanges(HotspotChangeSummary hotspotChanges) {
+        this.hotspotChanges = hotspotChanges;
+    }
 }
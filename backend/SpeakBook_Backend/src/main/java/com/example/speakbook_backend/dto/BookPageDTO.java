@@ -0,0 +1,37 @@
+package com.example.speakbook_backend.dto;
+
+import java.util.List;
+
+/**
+ * 教材單頁的熱區
+ */
+public class BookPageDTO {
+
+    private Integer page;
+    private List<HotspotDTO> hotspots;
+
+    public BookPageDTO() {
+    }
+
+    public BookPageDTO(Integer page, List<HotspotDTO> hotspots) {
+        this.page = page;
+        this.hotspots = hotspots;
+    }
+
+    // Getters and Setters
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
+
+    public List<HotspotDTO> getHotspots() {
+        return hotspots;
+    }
+
+    public void setHotspots(List<HotspotDTO> hotspots) {
+        this.hotspots = hotspots;
+    }
+}
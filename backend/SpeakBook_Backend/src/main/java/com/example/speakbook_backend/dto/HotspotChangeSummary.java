@@ -0,0 +1,55 @@
+package com.example.speakbook_backend.dto;
+
+/**
+ * 更新教材時的熱區異動統計
+ */
+public class HotspotChangeSummary {
+
+    private int inserted;    // 新增筆數
+    private int updated;     // 修改筆數
+    private int deleted;     // 刪除筆數
+    private int unchanged;   // 未變更筆數
+
+    public HotspotChangeSummary() {
+    }
+
+    public HotspotChangeSummary(int inserted, int updated, int deleted, int unchanged) {
+        this.inserted = inserted;
+        this.updated = updated;
+        this.deleted = deleted;
+        this.unchanged = unchanged;
+    }
+
+    // Getters and Setters
+    public int getInserted() {
+        return inserted;
+    }
+
+    public void setInserted(int inserted) {
+        this.inserted = inserted;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(int deleted) {
+        this.deleted = deleted;
+    }
+
+    public int getUnchanged() {
+        return unchanged;
+    }
+
+    public void setUnchanged(int unchanged) {
+        this.unchanged = unchanged;
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.speakbook_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class HotspotDTO {
 
     private Long id;
@@ -9,7 +11,12 @@ public class HotspotDTO {
     private Integer width;
     private Integer height;
     private String audioUrl;
+    private Long audioId;       // 對應的音訊 ID
     private Integer sortOrder;
+    private Integer page;       // 所在頁碼（從1開始）
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private AudioDTO audio;     // 音訊資訊（時長、大小等，僅教材詳情回傳）
 
     // Getters and Setters
     public Long getId() {
@@ -68,6 +75,22 @@ public class HotspotDTO {
         this.audioUrl = audioUrl;
     }
 
+    public Long getAudioId() {
+        return audioId;
+    }
+
+    public void setAudioId(Long audioId) {
+        this.audioId = audioId;
+    }
+
+    public AudioDTO getAudio() {
+        return audio;
+    }
+
+    public void setAudio(AudioDTO audio) {
+        this.audio = audio;
+    }
+
     public Integer getSortOrder() {
         return sortOrder;
     }
@@ -75,4 +98,12 @@ public class HotspotDTO {
     public void setSortOrder(Integer sortOrder) {
         this.sortOrder = sortOrder;
     }
+
+    public Integer getPage() {
+        return page;
+    }
+
+    public void setPage(Integer page) {
+        this.page = page;
+    }
 }
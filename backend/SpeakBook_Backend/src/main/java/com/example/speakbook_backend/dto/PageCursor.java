@@ -0,0 +1,63 @@
+package com.example.speakbook_backend.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 游標分頁（keyset pagination）的游標
+ * 編碼排序鍵（createdAt）與 id，以及翻頁方向，對外為不透明字串
+ */
+public class PageCursor {
+
+    private static final String FORWARD = "n";
+    private static final String BACKWARD = "p";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+    private final boolean backward;   // true：往前一頁
+
+    public PageCursor(LocalDateTime createdAt, Long id, boolean backward) {
+        this.createdAt = createdAt;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    /**
+     * 編碼為 URL 安全的字串
+     */
+    public String encode() {
+        String raw = (backward ? BACKWARD : FORWARD) + "|" + createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解碼游標字串
+     * @throws IllegalArgumentException 游標格式不正確
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 3 || !(FORWARD.equals(parts[0]) || BACKWARD.equals(parts[0]))) {
+                throw new IllegalArgumentException("無效的分頁游標");
+            }
+            return new PageCursor(LocalDateTime.parse(parts[1]), Long.valueOf(parts[2]), BACKWARD.equals(parts[0]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("無效的分頁游標", e);
+        }
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+}
@@ -9,6 +9,10 @@ public class PageRequest {
     private String sortBy;             // 排序欄位
     private String sortDirection = "DESC"; // 排序方向：ASC 或 DESC
     private String searchKeyword;      // 搜尋關鍵字
+    private boolean summary;           // 摘要模式（不含熱區等明細）
+    private boolean cursorMode;        // 使用游標分頁
+    private String cursor;             // 游標分頁的游標（第一頁為 null）
+    private boolean slice;             // 不計算總數，只回傳是否有下一頁
 
     public PageRequest() {
     }
@@ -59,6 +63,38 @@ public class PageRequest {
         this.searchKeyword = searchKeyword;
     }
 
+    public boolean isSummary() {
+        return summary;
+    }
+
+    public void setSummary(boolean summary) {
+        this.summary = summary;
+    }
+
+    public boolean isCursorMode() {
+        return cursorMode || cursor != null;
+    }
+
+    public void setCursorMode(boolean cursorMode) {
+        this.cursorMode = cursorMode;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor != null && !cursor.trim().isEmpty() ? cursor.trim() : null;
+    }
+
+    public boolean isSlice() {
+        return slice;
+    }
+
+    public void setSlice(boolean slice) {
+        this.slice = slice;
+    }
+
     /**
      * 計算偏移量（用於 SQL LIMIT OFFSET）
      */
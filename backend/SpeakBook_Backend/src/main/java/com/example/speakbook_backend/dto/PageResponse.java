@@ -10,11 +10,14 @@ public class PageResponse<T> {
     private List<T> content;          // 當前頁數據
     private int currentPage;          // 當前頁碼（從1開始）
     private int pageSize;             // 每頁大小
-    private long totalElements;       // 總記錄數
+    private long totalElements;       // 總記錄數（游標分頁、不計數模式為 -1）
     private int totalPages;           // 總頁數
     private boolean first;            // 是否第一頁
     private boolean last;             // 是否最後一頁
     private boolean empty;            // 是否為空
+    private boolean hasNext;          // 是否有下一頁
+    private String nextCursor;        // 下一頁游標（游標分頁模式，無下一頁時為 null）
+    private String prevCursor;        // 上一頁游標（游標分頁模式，無上一頁時為 null）
 
     public PageResponse() {
     }
@@ -28,6 +31,24 @@ public class PageResponse<T> {
         this.first = currentPage == 1;
         this.last = currentPage >= totalPages;
         this.empty = content == null || content.isEmpty();
+        this.hasNext = !last;
+    }
+
+    /**
+     * 建立不含總數的分頁響應（Slice 模式）
+     */
+    public static <T> PageResponse<T> slice(List<T> content, int currentPage, int pageSize, boolean hasNext) {
+        PageResponse<T> response = new PageResponse<>();
+        response.setContent(content);
+        response.setCurrentPage(currentPage);
+        response.setPageSize(pageSize);
+        response.setTotalElements(-1);
+        response.setTotalPages(-1);
+        response.setFirst(currentPage == 1);
+        response.setLast(!hasNext);
+        response.setHasNext(hasNext);
+        response.setEmpty(content == null || content.isEmpty());
+        return response;
     }
 
     // Getters and Setters
@@ -94,4 +115,28 @@ public class PageResponse<T> {
     public void setEmpty(boolean empty) {
         this.empty = empty;
     }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public void setHasNext(boolean hasNext) {
+        this.hasNext = hasNext;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getPrevCursor() {
+        return prevCursor;
+    }
+
+    public void setPrevCursor(String prevCursor) {
+        this.prevCursor = prevCursor;
+    }
 }
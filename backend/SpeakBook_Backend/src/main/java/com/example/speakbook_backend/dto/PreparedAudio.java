@@ -0,0 +1,34 @@
+package com.example.speakbook_backend.dto;
+
+import com.example.speakbook_backend.entity.AudioPeaks;
+
+/**
+ * 已上傳到儲存後端、尚未保存到數據庫的音訊
+ */
+public class PreparedAudio {
+
+    private AudioDTO audio;
+    private AudioPeaks peaks;   // 沒有波形資料時為 null
+
+    public PreparedAudio(AudioDTO audio, AudioPeaks peaks) {
+        this.audio = audio;
+        this.peaks = peaks;
+    }
+
+    // Getters and Setters
+    public AudioDTO getAudio() {
+        return audio;
+    }
+
+    public void setAudio(AudioDTO audio) {
+        this.audio = audio;
+    }
+
+    public AudioPeaks getPeaks() {
+        return peaks;
+    }
+
+    public void setPeaks(AudioPeaks peaks) {
+        this.peaks = peaks;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.speakbook_backend.dto;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 資源版本資訊，用於條件式 GET（ETag / Last-Modified）
+ * 只查詢 id、修訂版本與最後修改時間，不載入完整實體
+ */
+public class ResourceVersion {
+
+    private final Long id;
+    private final Long revision;
+    private final LocalDateTime lastModified;
+
+    public ResourceVersion(Long id, Long revision, LocalDateTime lastModified) {
+        this.id = id;
+        this.revision = revision;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 產生強 ETag，例如 "book-14-3-1730000000000"
+     */
+    public String toETag(String prefix) {
+        long millis = lastModified != null ? toEpochMillis(lastModified) : 0L;
+        return "\"" + prefix + "-" + id + "-" + (revision != null ? revision : 0L) + "-" + millis + "\"";
+    }
+
+    /**
+     * 最後修改時間（毫秒），未知時回傳 -1
+     */
+    public long getLastModifiedMillis() {
+        return lastModified != null ? toEpochMillis(lastModified) : -1L;
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        // HTTP 日期只到秒，捨去毫秒以免 If-Modified-Since 比對誤判
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() / 1000 * 1000;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public LocalDateTime getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.speakbook_backend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * 非同步上傳工作狀態
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UploadJobDTO {
+
+    private String id;
+    private String status;              // queued、running、retrying、succeeded、failed
+    private String fileName;
+    private String contentType;
+    private Long fileSize;              // 檔案大小（字節）
+    private Long bytesUploaded;         // 本次嘗試已送出的位元組數
+    private Integer attempts;           // 已嘗試次數
+    private Integer maxAttempts;
+    private LocalDateTime nextAttemptAt; // 等待重試時的下次嘗試時間
+    private UploadResponse result;      // 完成後的上傳結果
+    private String error;               // 最近一次失敗原因
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getBytesUploaded() {
+        return bytesUploaded;
+    }
+
+    public void setBytesUploaded(Long bytesUploaded) {
+        this.bytesUploaded = bytesUploaded;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    public Integer getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(Integer maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public UploadResponse getResult() {
+        return result;
+    }
+
+    public void setResult(UploadResponse result) {
+        this.result = result;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -1,9 +1,16 @@
 package com.example.speakbook_backend.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class UploadResponse {
 
     private String url;
     private String fileName;
+    private String contentHash;   // 檔案內容 SHA-256
+    private boolean deduplicated; // 內容已上傳過，直接回傳既有 URL
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String jobId;         // 非同步上傳的工作 ID（此時 url 為 null）
 
     public UploadResponse() {
     }
@@ -29,4 +36,28 @@ public class UploadResponse {
     public void setFileName(String fileName) {
         this.fileName = fileName;
     }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public boolean isDeduplicated() {
+        return deduplicated;
+    }
+
+    public void setDeduplicated(boolean deduplicated) {
+        this.deduplicated = deduplicated;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
 }
@@ -0,0 +1,84 @@
+package com.example.speakbook_backend.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 分段上傳工作階段狀態
+ */
+public class UploadSessionDTO {
+
+    private String id;
+    private String fileName;
+    private String contentType;
+    private Long fileSize;              // 檔案總大小（字節）
+    private Long receivedBytes;         // 已收到的位元組數
+    private List<long[]> receivedRanges; // 已收到的區段 [start, end]（含 end），依位置排序且不重疊
+    private Integer maxChunkSize;       // 單一區段的大小上限（字節）
+    private LocalDateTime expiresAt;    // 逾期未完成時自動刪除
+
+    // Getters and Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public Long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    public void setReceivedBytes(Long receivedBytes) {
+        this.receivedBytes = receivedBytes;
+    }
+
+    public List<long[]> getReceivedRanges() {
+        return receivedRanges;
+    }
+
+    public void setReceivedRanges(List<long[]> receivedRanges) {
+        this.receivedRanges = receivedRanges;
+    }
+
+    public Integer getMaxChunkSize() {
+        return maxChunkSize;
+    }
+
+    public void setMaxChunkSize(Integer maxChunkSize) {
+        this.maxChunkSize = maxChunkSize;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.speakbook_backend.dto;
+
+/**
+ * 建立分段上傳工作階段的請求
+ */
+public class UploadSessionRequest {
+
+    private String fileName;
+    private Long fileSize;      // 檔案總大小（字節）
+    private String contentType;
+    private String name;        // 音訊名稱，未指定時使用檔名
+    private String category;
+
+    // Getters and Setters
+    public String getFileName() {
+        return fileName;
+    }
+
+    public void setFileName(String fileName) {
+        this.fileName = fileName;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+}
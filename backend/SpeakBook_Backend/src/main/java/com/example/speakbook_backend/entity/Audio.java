@@ -26,15 +26,41 @@ public class Audio {
     @Column(name = "file_size")
     private Integer fileSize; // 檔案大小（字節）
 
+    @Column(name = "sample_rate")
+    private Integer sampleRate; // 取樣率（Hz）
+
+    @Column(name = "channels")
+    private Integer channels; // 聲道數
+
+    @Column(name = "bitrate")
+    private Integer bitrate; // 位元率（bps）
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash; // 檔案內容 SHA-256
+
     @Column(name = "category", length = 50)
     private String category;
 
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "revision")
+    private Long revision; // 修訂版本，每次更新遞增（用於 ETag）
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
+        revision = 0L;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+        revision = revision != null ? revision + 1 : 1L;
     }
 
     // Getters and Setters
@@ -78,6 +104,38 @@ public class Audio {
         this.fileSize = fileSize;
     }
 
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Integer sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Integer getChannels() {
+        return channels;
+    }
+
+    public void setChannels(Integer channels) {
+        this.channels = channels;
+    }
+
+    public Integer getBitrate() {
+        return bitrate;
+    }
+
+    public void setBitrate(Integer bitrate) {
+        this.bitrate = bitrate;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
     public String getCategory() {
         return category;
     }
@@ -93,4 +151,20 @@ public class Audio {
     public void setCreatedAt(LocalDateTime createdAt) {
         this.createdAt = createdAt;
     }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
 }
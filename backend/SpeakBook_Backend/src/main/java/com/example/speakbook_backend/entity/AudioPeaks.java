@@ -0,0 +1,106 @@
+package com.example.speakbook_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 音訊波形峰值摘要
+ * data 依序存放每個區間的 (最小值, 最大值)，各為一個有號位元組（-128 ~ 127）
+ * 與 audios 分表存放，列表查詢音訊時不會載入
+ */
+@Entity
+@Table(name = "audio_peaks")
+public class AudioPeaks {
+
+    @Id
+    @Column(name = "audio_id")
+    private Long audioId;
+
+    @Column(name = "sample_rate", nullable = false)
+    private Integer sampleRate; // 原始取樣率（Hz）
+
+    @Column(name = "samples_per_bin", nullable = false)
+    private Integer samplesPerBin; // 每個區間涵蓋的取樣數
+
+    @Column(name = "bin_count", nullable = false)
+    private Integer binCount; // 區間數
+
+    @Column(name = "frame_count", nullable = false)
+    private Long frameCount; // 總取樣數（每聲道）
+
+    @Lob
+    @Column(name = "data", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    /**
+     * 時長（毫秒）
+     */
+    public long getDurationMs() {
+        return sampleRate > 0 ? frameCount * 1000 / sampleRate : 0;
+    }
+
+    // Getters and Setters
+    public Long getAudioId() {
+        return audioId;
+    }
+
+    public void setAudioId(Long audioId) {
+        this.audioId = audioId;
+    }
+
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Integer sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Integer getSamplesPerBin() {
+        return samplesPerBin;
+    }
+
+    public void setSamplesPerBin(Integer samplesPerBin) {
+        this.samplesPerBin = samplesPerBin;
+    }
+
+    public Integer getBinCount() {
+        return binCount;
+    }
+
+    public void setBinCount(Integer binCount) {
+        this.binCount = binCount;
+    }
+
+    public Long getFrameCount() {
+        return frameCount;
+    }
+
+    public void setFrameCount(Long frameCount) {
+        this.frameCount = frameCount;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public void setData(byte[] data) {
+        this.data = data;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
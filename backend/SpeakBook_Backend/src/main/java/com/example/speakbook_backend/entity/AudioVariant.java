@@ -0,0 +1,123 @@
+package com.example.speakbook_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * 音訊衍生版本（例如低位元率的單聲道版本），依 quality 區分
+ */
+@Entity
+@Table(name = "audio_variants", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_audio_variants_audio_quality", columnNames = {"audio_id", "quality"})
+})
+public class AudioVariant {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @Column(name = "audio_id", nullable = false)
+    private Long audioId;
+
+    @Column(name = "quality", nullable = false, length = 20)
+    private String quality; // low
+
+    @Column(name = "url", nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "sample_rate")
+    private Integer sampleRate; // 取樣率（Hz）
+
+    @Column(name = "channels")
+    private Integer channels; // 聲道數
+
+    @Column(name = "bitrate")
+    private Integer bitrate; // 位元率（bps）
+
+    @Column(name = "file_size")
+    private Long fileSize; // 檔案大小（字節）
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getAudioId() {
+        return audioId;
+    }
+
+    public void setAudioId(Long audioId) {
+        this.audioId = audioId;
+    }
+
+    public String getQuality() {
+        return quality;
+    }
+
+    public void setQuality(String quality) {
+        this.quality = quality;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Integer sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Integer getChannels() {
+        return channels;
+    }
+
+    public void setChannels(Integer channels) {
+        this.channels = channels;
+    }
+
+    public Integer getBitrate() {
+        return bitrate;
+    }
+
+    public void setBitrate(Integer bitrate) {
+        this.bitrate = bitrate;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -8,7 +8,9 @@ import java.util.List;
 import static jakarta.persistence.GenerationType.IDENTITY;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "idx_status_created_at_id", columnList = "status, created_at, id")
+})
 public class Book {
 
     @Id
@@ -52,6 +54,9 @@ public class Book {
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
+    @Column(name = "revision")
+    private Long revision; // 修訂版本，每次更新遞增（用於 ETag）
+
     @OneToMany(mappedBy = "book", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Hotspot> hotspots = new ArrayList<>();
 
@@ -59,11 +64,13 @@ public class Book {
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        revision = 0L;
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        revision = revision != null ? revision + 1 : 1L;
     }
 
     // Getters and Setters
@@ -171,6 +178,14 @@ public class Book {
         this.publishedAt = publishedAt;
     }
 
+    public Long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(Long revision) {
+        this.revision = revision;
+    }
+
     public List<Hotspot> getHotspots() {
         return hotspots;
     }
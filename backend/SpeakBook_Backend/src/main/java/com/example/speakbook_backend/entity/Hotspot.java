@@ -6,7 +6,10 @@ import jakarta.persistence.*;
 import static jakarta.persistence.GenerationType.IDENTITY;
 
 @Entity
-@Table(name = "hotspots")
+@Table(name = "hotspots", indexes = {
+        @Index(name = "idx_book_id_page_number", columnList = "book_id, page_number"),
+        @Index(name = "idx_hotspots_audio_id", columnList = "audio_id")
+})
 public class Hotspot {
 
     @Id
@@ -37,9 +40,15 @@ public class Hotspot {
     @Column(name = "audio_url", length = 500)
     private String audioUrl;
 
+    @Column(name = "audio_id")
+    private Long audioId; // 對應的音訊（audios.id），舊資料或外部 URL 為 null
+
     @Column(name = "sort_order")
     private Integer sortOrder;
 
+    @Column(name = "page_number")
+    private Integer pageNumber; // 所在頁碼（從1開始）
+
     // Getters and Setters
     public Long getId() {
         return id;
@@ -105,6 +114,14 @@ public class Hotspot {
         this.audioUrl = audioUrl;
     }
 
+    public Long getAudioId() {
+        return audioId;
+    }
+
+    public void setAudioId(Long audioId) {
+        this.audioId = audioId;
+    }
+
     public Integer getSortOrder() {
         return sortOrder;
     }
@@ -112,4 +129,12 @@ public class Hotspot {
     public void setSortOrder(Integer sortOrder) {
         this.sortOrder = sortOrder;
     }
+
+    public Integer getPageNumber() {
+        return pageNumber;
+    }
+
+    public void setPageNumber(Integer pageNumber) {
+        this.pageNumber = pageNumber;
+    }
 }
@@ -0,0 +1,112 @@
+package com.example.speakbook_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * 圖片衍生版本（縮圖、中等尺寸），以原始圖片的內容雜湊對應，依 variant 區分
+ */
+@Entity
+@Table(name = "image_variants", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_image_variants_source_variant", columnNames = {"source_hash", "variant"})
+})
+public class ImageVariant {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @Column(name = "source_hash", nullable = false, length = 64)
+    private String sourceHash; // 原始圖片 SHA-256（對應 uploaded_files.content_hash）
+
+    @Column(name = "variant", nullable = false, length = 20)
+    private String variant; // thumbnail、medium
+
+    @Column(name = "url", nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "width")
+    private Integer width; // 寬度（像素）
+
+    @Column(name = "height")
+    private Integer height; // 高度（像素）
+
+    @Column(name = "file_size")
+    private Long fileSize; // 檔案大小（字節）
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getSourceHash() {
+        return sourceHash;
+    }
+
+    public void setSourceHash(String sourceHash) {
+        this.sourceHash = sourceHash;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Integer getWidth() {
+        return width;
+    }
+
+    public void setWidth(Integer width) {
+        this.width = width;
+    }
+
+    public Integer getHeight() {
+        return height;
+    }
+
+    public void setHeight(Integer height) {
+        this.height = height;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.speakbook_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+import static jakarta.persistence.GenerationType.IDENTITY;
+
+/**
+ * 已上傳檔案的內容雜湊索引（儲存提供者 + SHA-256 → URL），用於重複上傳時直接回傳既有 URL
+ */
+@Entity
+@Table(name = "uploaded_files", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_uploaded_files_provider_hash", columnNames = {"provider", "content_hash"})
+})
+public class UploadedFile {
+
+    @Id
+    @Column(name = "id")
+    @GeneratedValue(strategy = IDENTITY)
+    private Long id;
+
+    @Column(name = "provider", nullable = false, length = 20)
+    private String provider; // 儲存提供者名稱（StorageProvider.getName()）
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash; // SHA-256（小寫十六進位）
+
+    @Column(name = "url", nullable = false, length = 500)
+    private String url;
+
+    @Column(name = "file_size")
+    private Long fileSize; // 檔案大小（字節）
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getProvider() {
+        return provider;
+    }
+
+    public void setProvider(String provider) {
+        this.provider = provider;
+    }
+
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
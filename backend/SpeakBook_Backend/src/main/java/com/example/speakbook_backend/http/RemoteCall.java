@@ -0,0 +1,14 @@
+package com.example.speakbook_backend.http;
+
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+
+/**
+ * 以共用的 RestTemplate 執行一次遠端呼叫
+ */
+@FunctionalInterface
+public interface RemoteCall<T> {
+
+    T execute(RestTemplate restTemplate) throws IOException;
+}
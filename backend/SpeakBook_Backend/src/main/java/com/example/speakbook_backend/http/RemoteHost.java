@@ -0,0 +1,140 @@
+package com.example.speakbook_backend.http;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 單一遠端主機的隔艙（並行上限）、斷路器與統計
+ * 斷路器：連續失敗達門檻時開啟，開啟期間直接拒絕；冷卻後進入半開，只放行一個試探呼叫，
+ * 成功則關閉，失敗則重新開啟
+ */
+final class RemoteHost {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String host;
+    private final int maxConcurrent;
+    private final Semaphore permits;
+    private final int failureThreshold;
+    private final long openMs;
+
+    // 斷路器狀態以 this 同步
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final LongAdder requestCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final LongAdder totalLatencyMs = new LongAdder();
+    private final AtomicLong maxLatencyMs = new AtomicLong();
+    private volatile String lastError;
+
+    RemoteHost(String host, int maxConcurrent, int failureThreshold, long openMs) {
+        this.host = host;
+        this.maxConcurrent = maxConcurrent;
+        this.permits = new Semaphore(maxConcurrent);
+        this.failureThreshold = failureThreshold;
+        this.openMs = openMs;
+    }
+
+    /**
+     * 取得並行名額，等待超過 waitMs 時回傳 false
+     */
+    boolean tryAcquire(long waitMs) throws InterruptedException {
+        boolean acquired = waitMs <= 0
+                ? permits.tryAcquire()
+                : permits.tryAcquire(waitMs, TimeUnit.MILLISECONDS);
+        if (!acquired) {
+            rejectedCount.increment();
+        }
+        return acquired;
+    }
+
+    void release() {
+        permits.release();
+    }
+
+    /**
+     * 斷路器是否允許送出呼叫；半開狀態只允許一個試探呼叫
+     */
+    synchronized boolean allowRequest() {
+        if (state == State.OPEN && System.currentTimeMillis() - openedAt >= openMs) {
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        boolean allowed = state == State.CLOSED || (state == State.HALF_OPEN && !trialInFlight);
+        if (allowed && state == State.HALF_OPEN) {
+            trialInFlight = true;
+        }
+        if (!allowed) {
+            rejectedCount.increment();
+        }
+        return allowed;
+    }
+
+    void recordSuccess(long latencyMs) {
+        recordLatency(latencyMs);
+        synchronized (this) {
+            consecutiveFailures = 0;
+            state = State.CLOSED;
+            trialInFlight = false;
+        }
+    }
+
+    void recordFailure(long latencyMs, Exception e) {
+        recordLatency(latencyMs);
+        errorCount.increment();
+        lastError = e.getClass().getSimpleName() + ": " + e.getMessage();
+        synchronized (this) {
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+                state = State.OPEN;
+                openedAt = System.currentTimeMillis();
+            }
+            trialInFlight = false;
+        }
+    }
+
+    private void recordLatency(long latencyMs) {
+        requestCount.increment();
+        totalLatencyMs.add(latencyMs);
+        maxLatencyMs.accumulateAndGet(latencyMs, Math::max);
+    }
+
+    /**
+     * 斷路器開啟時距離進入半開的毫秒數，其他狀態回傳 0
+     */
+    synchronized long millisUntilHalfOpen() {
+        if (state != State.OPEN) {
+            return 0;
+        }
+        return Math.max(0, openedAt + openMs - System.currentTimeMillis());
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    String getHost() {
+        return host;
+    }
+
+    RemoteHostStats getStats() {
+        RemoteHostStats stats = new RemoteHostStats();
+        stats.setHost(host);
+        stats.setCircuitState(getState().name());
+        stats.setRequestCount(requestCount.sum());
+        stats.setErrorCount(errorCount.sum());
+        stats.setRejectedCount(rejectedCount.sum());
+        stats.setInFlight(maxConcurrent - permits.availablePermits());
+        stats.setMaxConcurrent(maxConcurrent);
+        stats.setTotalLatencyMs(totalLatencyMs.sum());
+        stats.setMaxLatencyMs(maxLatencyMs.get());
+        stats.setLastError(lastError);
+        return stats;
+    }
+}
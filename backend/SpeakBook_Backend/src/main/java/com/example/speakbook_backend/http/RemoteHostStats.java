@@ -0,0 +1,113 @@
+package com.example.speakbook_backend.http;
+
+/**
+ * 單一遠端主機的呼叫統計
+ */
+public class RemoteHostStats {
+
+    private String host;
+    private String circuitState;   // CLOSED、OPEN、HALF_OPEN
+    private long requestCount;     // 實際送出的呼叫數
+    private long errorCount;       // 連線失敗、逾時或 5xx
+    private long rejectedCount;    // 斷路器開啟或超過並行上限而未送出
+    private int inFlight;          // 目前進行中的呼叫數
+    private int maxConcurrent;     // 並行上限
+    private long totalLatencyMs;
+    private long maxLatencyMs;
+    private String lastError;
+
+    /**
+     * 平均延遲（毫秒）
+     */
+    public double getAverageLatencyMs() {
+        return requestCount == 0 ? 0.0 : (double) totalLatencyMs / requestCount;
+    }
+
+    /**
+     * 錯誤率（0 ~ 1）
+     */
+    public double getErrorRate() {
+        return requestCount == 0 ? 0.0 : (double) errorCount / requestCount;
+    }
+
+    // Getters and Setters
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public String getCircuitState() {
+        return circuitState;
+    }
+
+    public void setCircuitState(String circuitState) {
+        this.circuitState = circuitState;
+    }
+
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    public void setRequestCount(long requestCount) {
+        this.requestCount = requestCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+
+    public void setRejectedCount(long rejectedCount) {
+        this.rejectedCount = rejectedCount;
+    }
+
+    public int getInFlight() {
+        return inFlight;
+    }
+
+    public void setInFlight(int inFlight) {
+        this.inFlight = inFlight;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public long getTotalLatencyMs() {
+        return totalLatencyMs;
+    }
+
+    public void setTotalLatencyMs(long totalLatencyMs) {
+        this.totalLatencyMs = totalLatencyMs;
+    }
+
+    public long getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public void setMaxLatencyMs(long maxLatencyMs) {
+        this.maxLatencyMs = maxLatencyMs;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+}
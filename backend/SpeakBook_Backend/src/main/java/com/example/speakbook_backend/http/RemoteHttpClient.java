@@ -0,0 +1,155 @@
+package com.example.speakbook_backend.http;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 共用的遠端 HTTP 用戶端（儲存後端上傳、遠端音訊下載）
+ * 所有呼叫共用同一個 JDK HttpClient 連線池，並依主機套用：
+ * 隔艙：同一主機的並行呼叫數上限，超過時立即拒絕（或等待呼叫端指定的時間），遠端變慢時不會佔滿 Tomcat 執行緒
+ * 斷路器：連續失敗後暫停呼叫該主機，冷卻後以單一試探呼叫恢復
+ * 統計：呼叫數、錯誤數、拒絕數與延遲
+ * 請求內容仍由 JdkClientHttpRequestFactory 串流送出，不在記憶體中緩衝
+ */
+@Component
+public class RemoteHttpClient {
+
+    // 隔艙已滿或半開試探進行中時建議的重試間隔（毫秒）
+    private static final long BUSY_RETRY_AFTER_MS = 1000;
+
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+
+    private final int maxConcurrentPerHost;
+    private final long bulkheadWaitMs;
+    private final int failureThreshold;
+    private final long openMs;
+
+    private final ConcurrentHashMap<String, RemoteHost> hosts = new ConcurrentHashMap<>();
+
+    public RemoteHttpClient(
+            @Value("${speakbook.http.connect-timeout-ms:5000}") long connectTimeoutMs,
+            @Value("${speakbook.http.read-timeout-ms:120000}") long readTimeoutMs,
+            @Value("${speakbook.http.max-concurrent-per-host:8}") int maxConcurrentPerHost,
+            @Value("${speakbook.http.bulkhead-wait-ms:0}") long bulkheadWaitMs,
+            @Value("${speakbook.http.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${speakbook.http.circuit.open-ms:30000}") long openMs) {
+        this.maxConcurrentPerHost = Math.max(1, maxConcurrentPerHost);
+        this.bulkheadWaitMs = Math.max(0, bulkheadWaitMs);
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMs = Math.max(0, openMs);
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "remote-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                // 不跟隨重新導向：下載目標已依主機白名單檢查，重新導向可能轉往內部位址
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(executor)
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient, executor);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+        this.restTemplate = new RestTemplate(requestFactory);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 對 url 所屬的主機執行呼叫，隔艙等待時間使用 speakbook.http.bulkhead-wait-ms
+     */
+    public <T> T execute(String url, RemoteCall<T> call) throws IOException {
+        return execute(url, bulkheadWaitMs, call);
+    }
+
+    /**
+     * 對 url 所屬的主機執行呼叫，隔艙已滿時最多等待 bulkheadWaitMs
+     * 隔艙已滿或斷路器開啟時拋出 RemoteUnavailableException，不會送出請求；
+     * 連線失敗、逾時與 5xx 計為失敗，4xx 代表遠端正常回應，不影響斷路器
+     */
+    public <T> T execute(String url, long bulkheadWaitMs, RemoteCall<T> call) throws IOException {
+        RemoteHost host = hostOf(url);
+        boolean acquired;
+        try {
+            acquired = host.tryAcquire(bulkheadWaitMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待遠端呼叫名額時被中斷：" + host.getHost(), e);
+        }
+        if (!acquired) {
+            throw new RemoteUnavailableException("遠端服務忙碌中，請稍後再試：" + host.getHost(), BUSY_RETRY_AFTER_MS);
+        }
+
+        try {
+            if (!host.allowRequest()) {
+                throw new RemoteUnavailableException("遠端服務暫時無法使用，請稍後再試：" + host.getHost(),
+                        Math.max(BUSY_RETRY_AFTER_MS, host.millisUntilHalfOpen()));
+            }
+            long start = System.nanoTime();
+            try {
+                T result = call.execute(restTemplate);
+                host.recordSuccess(elapsedMs(start));
+                return result;
+            } catch (HttpClientErrorException e) {
+                host.recordSuccess(elapsedMs(start));
+                throw e;
+            } catch (IOException | RuntimeException e) {
+                host.recordFailure(elapsedMs(start), e);
+                throw e;
+            }
+        } finally {
+            host.release();
+        }
+    }
+
+    /**
+     * 取得所有主機的統計，依主機名稱排序
+     */
+    public List<RemoteHostStats> getStats() {
+        List<RemoteHostStats> stats = new ArrayList<>();
+        for (RemoteHost host : hosts.values()) {
+            stats.add(host.getStats());
+        }
+        stats.sort(Comparator.comparing(RemoteHostStats::getHost));
+        return stats;
+    }
+
+    private RemoteHost hostOf(String url) {
+        String host = null;
+        try {
+            host = URI.create(url).getHost();
+        } catch (IllegalArgumentException ignored) {
+            // 無法解析的 URL 歸入 unknown，由實際呼叫回報錯誤
+        }
+        String key = host != null ? host.toLowerCase(Locale.ROOT) : "unknown";
+        return hosts.computeIfAbsent(key,
+                name -> new RemoteHost(name, maxConcurrentPerHost, failureThreshold, openMs));
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.speakbook_backend.http;
+
+/**
+ * 隔艙已滿或斷路器開啟，呼叫未送出
+ * 重試端應在 retryAfterMillis 後再試，且不應把這次拒絕計為一次失敗的嘗試
+ */
+public class RemoteUnavailableException extends IllegalStateException {
+
+    private final long retryAfterMillis;
+
+    public RemoteUnavailableException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+
+    /**
+     * 在例外的 cause 鏈中尋找 RemoteUnavailableException（儲存提供者會包裝原始例外）
+     */
+    public static RemoteUnavailableException find(Throwable e) {
+        for (Throwable current = e; current != null; current = current.getCause()) {
+            if (current instanceof RemoteUnavailableException unavailable) {
+                return unavailable;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return null;
+    }
+}
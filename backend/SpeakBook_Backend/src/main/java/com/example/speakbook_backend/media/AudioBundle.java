@@ -0,0 +1,268 @@
+package com.example.speakbook_backend.media;
+
+import com.example.speakbook_backend.dto.AudioBundleEntry;
+import com.example.speakbook_backend.dto.AudioBundleManifest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 教材音訊包（tar 格式）
+ * 第一個檔案為 manifest.json，之後依序為各音訊檔；版面在建立時即決定，
+ * 因此總長度與每個位元組的位置都是固定的，可直接依 Range 從任意位置續傳
+ * 音訊內容直接從本機快取檔傳送，不會整包載入記憶體
+ */
+public class AudioBundle implements Closeable {
+
+    public static final String CONTENT_TYPE = "application/x-tar";
+    public static final String MANIFEST_NAME = "manifest.json";
+
+    private static final int BLOCK = 512;
+
+    private final List<Part> parts;
+    private final List<FileChannel> channels;
+    private final long length;
+
+    private AudioBundle(List<Part> parts, List<FileChannel> channels) {
+        this.parts = parts;
+        this.channels = channels;
+        long total = 0;
+        for (Part part : parts) {
+            total += part.length();
+        }
+        this.length = total;
+    }
+
+    /**
+     * 建立音訊包，channels 與 manifest.entries 一一對應
+     * 呼叫端需在取得每個快取檔後立即開啟，已開啟的檔案即使被快取淘汰刪除也能完整送出；
+     * 音訊包負責關閉這些 channel，建立失敗時也會關閉
+     */
+    public static AudioBundle create(AudioBundleManifest manifest, List<FileChannel> channels,
+                                     ObjectMapper objectMapper) throws IOException {
+        List<AudioBundleEntry> entries = manifest.getEntries();
+        try {
+            for (int i = 0; i < channels.size(); i++) {
+                entries.get(i).setSize(channels.get(i).size());
+            }
+
+            // 清單內記錄的位移取決於清單本身的長度，重複計算直到補齊後的長度不再變化
+            byte[] json = new byte[0];
+            boolean stable = false;
+            for (int attempt = 0; attempt < 8 && !stable; attempt++) {
+                long offset = BLOCK + padded(json.length);
+                for (AudioBundleEntry entry : entries) {
+                    offset += BLOCK;
+                    entry.setOffset(offset);
+                    offset += padded(entry.getSize());
+                }
+                byte[] next = objectMapper.writeValueAsBytes(manifest);
+                stable = padded(next.length) == padded(json.length);
+                json = next;
+            }
+            if (!stable) {
+                throw new IllegalStateException("無法產生音訊包清單");
+            }
+
+            List<Part> parts = new ArrayList<>();
+            parts.add(new BytesPart(concat(header(MANIFEST_NAME, json.length), json, new byte[padding(json.length)])));
+            for (int i = 0; i < entries.size(); i++) {
+                AudioBundleEntry entry = entries.get(i);
+                parts.add(new BytesPart(header(entry.getName(), entry.getSize())));
+                parts.add(new FilePart(channels.get(i), entry.getSize()));
+                int pad = padding(entry.getSize());
+                if (pad > 0) {
+                    parts.add(new BytesPart(new byte[pad]));
+                }
+            }
+            parts.add(new BytesPart(new byte[BLOCK * 2])); // 結尾兩個空區塊
+            return new AudioBundle(parts, channels);
+        } catch (IOException | RuntimeException e) {
+            closeAll(channels);
+            throw e;
+        }
+    }
+
+    /**
+     * 音訊包總長度（位元組）
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * 寫出 [start, start + count) 範圍，回傳實際寫出的位元組數
+     */
+    public long writeTo(WritableByteChannel out, long start, long count) throws IOException {
+        long end = Math.min(length, start + count);
+        long partStart = 0;
+        long written = 0;
+        for (Part part : parts) {
+            long partEnd = partStart + part.length();
+            if (partEnd > start && partStart < end) {
+                long from = Math.max(start, partStart) - partStart;
+                long to = Math.min(end, partEnd) - partStart;
+                written += part.writeTo(out, from, to - from);
+            }
+            if (partEnd >= end) {
+                break;
+            }
+            partStart = partEnd;
+        }
+        return written;
+    }
+
+    @Override
+    public void close() {
+        closeAll(channels);
+    }
+
+    // ===== tar 格式 =====
+
+    /**
+     * ustar 檔頭；修改時間固定為 0，確保同一版本的內容逐位元組相同
+     */
+    private static byte[] header(String name, long size) {
+        byte[] header = new byte[BLOCK];
+        putString(header, 0, 100, name);
+        putOctal(header, 100, 8, 0644);
+        putOctal(header, 108, 8, 0);
+        putOctal(header, 116, 8, 0);
+        putOctal(header, 124, 12, size);
+        putOctal(header, 136, 12, 0);
+        header[156] = '0';
+        putString(header, 257, 6, "ustar");
+        header[263] = '0';
+        header[264] = '0';
+
+        // 校驗和：以空白計算檔頭所有位元組總和
+        for (int i = 148; i < 156; i++) {
+            header[i] = ' ';
+        }
+        long sum = 0;
+        for (byte b : header) {
+            sum += b & 0xFF;
+        }
+        putOctal(header, 148, 7, sum);
+        return header;
+    }
+
+    private static void putString(byte[] target, int offset, int length, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, target, offset, Math.min(bytes.length, length));
+    }
+
+    /**
+     * 以 0 開頭補齊的八進位數字，最後一個位元組為 NUL
+     */
+    private static void putOctal(byte[] target, int offset, int length, long value) {
+        String octal = Long.toOctalString(value);
+        int digits = length - 1;
+        if (octal.length() > digits) {
+            throw new IllegalArgumentException("tar 欄位數值過大：" + value);
+        }
+        String padded = "0".repeat(digits - octal.length()) + octal;
+        putString(target, offset, digits, padded);
+        target[offset + digits] = 0;
+    }
+
+    private static long padded(long size) {
+        return size + padding(size);
+    }
+
+    private static int padding(long size) {
+        int remainder = (int) (size % BLOCK);
+        return remainder == 0 ? 0 : BLOCK - remainder;
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        int total = 0;
+        for (byte[] array : arrays) {
+            total += array.length;
+        }
+        byte[] result = new byte[total];
+        int offset = 0;
+        for (byte[] array : arrays) {
+            System.arraycopy(array, 0, result, offset, array.length);
+            offset += array.length;
+        }
+        return result;
+    }
+
+    private static void closeAll(List<FileChannel> channels) {
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 唯讀檔案關閉失敗不影響結果
+            }
+        }
+    }
+
+    // ===== 片段 =====
+
+    private interface Part {
+        long length();
+
+        long writeTo(WritableByteChannel out, long from, long count) throws IOException;
+    }
+
+    private static final class BytesPart implements Part {
+        private final byte[] bytes;
+
+        private BytesPart(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        @Override
+        public long length() {
+            return bytes.length;
+        }
+
+        @Override
+        public long writeTo(WritableByteChannel out, long from, long count) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, (int) from, (int) count);
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            return count;
+        }
+    }
+
+    private static final class FilePart implements Part {
+        private final FileChannel channel;
+        private final long size;
+
+        private FilePart(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        @Override
+        public long length() {
+            return size;
+        }
+
+        @Override
+        public long writeTo(WritableByteChannel out, long from, long count) throws IOException {
+            long position = from;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    throw new IOException("音訊檔案長度與清單不符");
+                }
+                position += sent;
+                remaining -= sent;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.speakbook_backend.media;
+
+/**
+ * 從音訊檔頭解析出的技術資訊，無法判斷的欄位為 null
+ */
+public class AudioMetadata {
+
+    private String format;      // mp3、wav、ogg、m4a
+    private Long durationMs;    // 時長（毫秒）
+    private Integer sampleRate; // 取樣率（Hz）
+    private Integer channels;   // 聲道數
+    private Integer bitrate;    // 位元率（bps）
+
+    /**
+     * 時長（秒），四捨五入，不足一秒的非空音訊記為 1 秒
+     */
+    public Integer getDurationSeconds() {
+        if (durationMs == null) {
+            return null;
+        }
+        long seconds = Math.round(durationMs / 1000.0);
+        return (int) (seconds == 0 && durationMs > 0 ? 1 : seconds);
+    }
+
+    // Getters and Setters
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    public Long getDurationMs() {
+        return durationMs;
+    }
+
+    public void setDurationMs(Long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public Integer getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Integer sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Integer getChannels() {
+        return channels;
+    }
+
+    public void setChannels(Integer channels) {
+        this.channels = channels;
+    }
+
+    public Integer getBitrate() {
+        return bitrate;
+    }
+
+    public void setBitrate(Integer bitrate) {
+        this.bitrate = bitrate;
+    }
+}
@@ -0,0 +1,438 @@
+package com.example.speakbook_backend.media;
+
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 以單次串流讀取解析音訊的時長、取樣率、聲道數與位元率
+ * 只讀取檔頭與必要的區塊標頭，音訊資料以 skip 略過，不會把整個檔案載入記憶體
+ * 支援 MP3、WAV、OGG（Vorbis / Opus）與 M4A
+ */
+@Component
+public class AudioMetadataExtractor {
+
+    // MP3 搜尋第一個音框時最多讀取的位元組數
+    private static final int MP3_SCAN_LIMIT = 64 * 1024;
+
+    private static final int[][] MP3_BITRATES = {
+            // MPEG-1 Layer I / II / III
+            {0, 32, 64, 96, 128, 160, 192, 224, 256, 288, 320, 352, 384, 416, 448},
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320, 384},
+            {0, 32, 40, 48, 56, 64, 80, 96, 112, 128, 160, 192, 224, 256, 320},
+            // MPEG-2 / 2.5 Layer I / II & III
+            {0, 32, 48, 56, 64, 80, 96, 112, 128, 144, 160, 176, 192, 224, 256},
+            {0, 8, 16, 24, 32, 40, 48, 56, 64, 80, 96, 112, 128, 144, 160}
+    };
+
+    private static final int[][] MP3_SAMPLE_RATES = {
+            {11025, 12000, 8000},  // MPEG-2.5
+            null,                  // 保留
+            {22050, 24000, 16000}, // MPEG-2
+            {44100, 48000, 32000}  // MPEG-1
+    };
+
+    /**
+     * 解析音訊資訊，無法辨識或格式損壞時回傳各欄位為 null 的結果，不會拋出例外
+     * @param in 音訊內容（由呼叫端負責關閉）
+     * @param totalSize 檔案總大小，用於固定位元率檔案的時長估算
+     */
+    public AudioMetadata extract(InputStream in, long totalSize) {
+        AudioMetadata metadata = new AudioMetadata();
+        try {
+            BufferedInputStream buffered = new BufferedInputStream(in, 8192);
+            buffered.mark(16);
+            byte[] magic = new byte[12];
+            int n = buffered.readNBytes(magic, 0, magic.length);
+            buffered.reset();
+            if (n < magic.length) {
+                return metadata;
+            }
+
+            Reader reader = new Reader(buffered);
+            if (startsWith(magic, 0, "RIFF") && startsWith(magic, 8, "WAVE")) {
+                metadata.setFormat("wav");
+                readWav(reader, totalSize, metadata);
+            } else if (startsWith(magic, 0, "OggS")) {
+                metadata.setFormat("ogg");
+                readOgg(reader, totalSize, metadata);
+            } else if (startsWith(magic, 4, "ftyp")) {
+                metadata.setFormat("m4a");
+                readMp4(reader, totalSize, metadata);
+            } else if (startsWith(magic, 0, "ID3") || isMp3Sync(magic, 0)) {
+                metadata.setFormat("mp3");
+                readMp3(reader, totalSize, metadata);
+            }
+        } catch (IOException | RuntimeException e) {
+            // 檔案截斷或格式損壞時保留已解析的欄位，不影響上傳
+        }
+        return metadata;
+    }
+
+    // ===== WAV =====
+
+    private void readWav(Reader in, long totalSize, AudioMetadata metadata) throws IOException {
+        in.skip(12);
+        long byteRate = 0;
+        while (true) {
+            String id = in.ascii(4);
+            long size = in.u32le();
+            if ("fmt ".equals(id)) {
+                in.u16le(); // audioFormat
+                metadata.setChannels(in.u16le());
+                metadata.setSampleRate((int) in.u32le());
+                byteRate = in.u32le();
+                in.skip(size - 12 + (size & 1));
+                metadata.setBitrate((int) (byteRate * 8));
+            } else if ("data".equals(id)) {
+                // 串流錄製的檔案可能未回填大小
+                long dataSize = size == 0 || size == 0xFFFFFFFFL ? totalSize - in.position() : size;
+                if (byteRate > 0 && dataSize > 0) {
+                    metadata.setDurationMs(dataSize * 1000 / byteRate);
+                }
+                return;
+            } else {
+                in.skip(size + (size & 1));
+            }
+        }
+    }
+
+    // ===== MP3 =====
+
+    private void readMp3(Reader in, long totalSize, AudioMetadata metadata) throws IOException {
+        byte[] head = in.bytes(10);
+        long audioStart = 0;
+        if (startsWith(head, 0, "ID3")) {
+            // ID3v2 大小為 syncsafe 整數，不含 10 位元組標頭
+            long tagSize = ((head[6] & 0x7F) << 21) | ((head[7] & 0x7F) << 14)
+                    | ((head[8] & 0x7F) << 7) | (head[9] & 0x7F);
+            audioStart = 10 + tagSize + ((head[5] & 0x10) != 0 ? 10 : 0);
+            in.skip(audioStart - 10);
+            head = new byte[0];
+        }
+
+        byte[] window = concat(head, in.upTo(MP3_SCAN_LIMIT));
+        for (int i = 0; i + 4 <= window.length; i++) {
+            if (!isMp3Sync(window, i)) {
+                continue;
+            }
+            int header = ((window[i] & 0xFF) << 24) | ((window[i + 1] & 0xFF) << 16)
+                    | ((window[i + 2] & 0xFF) << 8) | (window[i + 3] & 0xFF);
+            int version = (header >> 19) & 3;
+            int layer = (header >> 17) & 3;
+            int bitrateIndex = (header >> 12) & 0xF;
+            int sampleRateIndex = (header >> 10) & 3;
+            if (version == 1 || layer == 0 || bitrateIndex == 15 || sampleRateIndex == 3) {
+                continue;
+            }
+
+            boolean mpeg1 = version == 3;
+            boolean mono = ((header >> 6) & 3) == 3;
+            int sampleRate = MP3_SAMPLE_RATES[version][sampleRateIndex];
+            int table = mpeg1 ? 3 - layer : (layer == 3 ? 3 : 4);
+            int bitrateKbps = MP3_BITRATES[table][bitrateIndex];
+            int samplesPerFrame = layer == 3 ? 384 : (layer == 2 || mpeg1 ? 1152 : 576);
+
+            metadata.setSampleRate(sampleRate);
+            metadata.setChannels(mono ? 1 : 2);
+
+            // VBR 檔案的第一個音框通常是 Xing / Info 或 VBRI 標頭，記錄總音框數
+            long frames = -1;
+            long bytes = -1;
+            int xing = i + 4 + (mpeg1 ? (mono ? 17 : 32) : (mono ? 9 : 17));
+            int vbri = i + 4 + 32;
+            if (startsWith(window, xing, "Xing") || startsWith(window, xing, "Info")) {
+                int flags = beInt(window, xing + 4);
+                int offset = xing + 8;
+                if ((flags & 1) != 0) {
+                    frames = beInt(window, offset) & 0xFFFFFFFFL;
+                    offset += 4;
+                }
+                if ((flags & 2) != 0) {
+                    bytes = beInt(window, offset) & 0xFFFFFFFFL;
+                }
+            } else if (startsWith(window, vbri, "VBRI")) {
+                bytes = beInt(window, vbri + 10) & 0xFFFFFFFFL;
+                frames = beInt(window, vbri + 14) & 0xFFFFFFFFL;
+            }
+
+            long audioBytes = bytes > 0 ? bytes : totalSize - audioStart - i;
+            if (frames > 0) {
+                long durationMs = frames * samplesPerFrame * 1000 / sampleRate;
+                metadata.setDurationMs(durationMs);
+                if (durationMs > 0 && audioBytes > 0) {
+                    metadata.setBitrate((int) (audioBytes * 8000 / durationMs));
+                }
+            } else if (bitrateKbps > 0) {
+                metadata.setBitrate(bitrateKbps * 1000);
+                if (audioBytes > 0) {
+                    metadata.setDurationMs(audioBytes * 8 / bitrateKbps);
+                }
+            }
+            return;
+        }
+    }
+
+    // ===== OGG =====
+
+    private void readOgg(Reader in, long totalSize, AudioMetadata metadata) throws IOException {
+        long serial = -1;
+        long lastGranule = -1;
+        long preSkip = 0;
+        long granuleRate = 0;
+        int nominalBitrate = 0;
+
+        while (true) {
+            byte[] header = in.upTo(27);
+            if (header.length < 27 || !startsWith(header, 0, "OggS")) {
+                break;
+            }
+            long granule = leLong(header, 6);
+            long pageSerial = leInt(header, 14) & 0xFFFFFFFFL;
+            byte[] segments = in.bytes(header[26] & 0xFF);
+            int bodySize = 0;
+            for (byte segment : segments) {
+                bodySize += segment & 0xFF;
+            }
+
+            if (serial < 0) {
+                // 第一頁為識別標頭
+                serial = pageSerial;
+                byte[] body = in.bytes(bodySize);
+                if (body.length >= 28 && body[0] == 1 && startsWith(body, 1, "vorbis")) {
+                    metadata.setChannels(body[11] & 0xFF);
+                    granuleRate = leInt(body, 12) & 0xFFFFFFFFL;
+                    metadata.setSampleRate((int) granuleRate);
+                    nominalBitrate = leInt(body, 20);
+                } else if (body.length >= 16 && startsWith(body, 0, "OpusHead")) {
+                    metadata.setChannels(body[9] & 0xFF);
+                    preSkip = (body[10] & 0xFF) | ((body[11] & 0xFF) << 8);
+                    long inputRate = leInt(body, 12) & 0xFFFFFFFFL;
+                    metadata.setSampleRate((int) (inputRate > 0 ? inputRate : 48000));
+                    granuleRate = 48000; // Opus 的 granule 固定以 48kHz 計
+                } else {
+                    return;
+                }
+                continue;
+            }
+
+            in.skip(bodySize);
+            if (pageSerial == serial && granule != -1) {
+                lastGranule = granule;
+            }
+        }
+
+        if (granuleRate > 0 && lastGranule > preSkip) {
+            long durationMs = (lastGranule - preSkip) * 1000 / granuleRate;
+            metadata.setDurationMs(durationMs);
+            if (nominalBitrate > 0) {
+                metadata.setBitrate(nominalBitrate);
+            } else if (durationMs > 0 && totalSize > 0) {
+                metadata.setBitrate((int) (totalSize * 8000 / durationMs));
+            }
+        }
+    }
+
+    // ===== M4A（MP4 容器）=====
+
+    private void readMp4(Reader in, long totalSize, AudioMetadata metadata) throws IOException {
+        readBoxes(in, totalSize > 0 ? totalSize : Long.MAX_VALUE, metadata);
+        Long durationMs = metadata.getDurationMs();
+        if (durationMs != null && durationMs > 0 && totalSize > 0) {
+            metadata.setBitrate((int) (totalSize * 8000 / durationMs));
+        }
+    }
+
+    /**
+     * 逐一讀取 [position, end) 範圍內的 box，只進入與音訊資訊有關的容器
+     * moov 解析完成後即停止，位於檔尾的 moov 會以 skip 略過 mdat 後讀取
+     */
+    private boolean readBoxes(Reader in, long end, AudioMetadata metadata) throws IOException {
+        while (in.position() + 8 <= end) {
+            long start = in.position();
+            long size = in.u32be();
+            String type = in.ascii(4);
+            if (size == 1) {
+                size = in.u64be();
+            } else if (size == 0) {
+                size = end - start;
+            }
+            long boxEnd = start + size;
+            if (size < 8 || boxEnd > end) {
+                return false;
+            }
+
+            switch (type) {
+                case "moov":
+                    readBoxes(in, boxEnd, metadata);
+                    in.skip(boxEnd - in.position());
+                    return true;
+                case "trak":
+                case "mdia":
+                case "minf":
+                case "stbl":
+                    readBoxes(in, boxEnd, metadata);
+                    break;
+                case "mvhd":
+                    int version = in.u8();
+                    in.skip(3 + (version == 1 ? 16 : 8));
+                    long timescale = in.u32be();
+                    long duration = version == 1 ? in.u64be() : in.u32be();
+                    if (timescale > 0) {
+                        metadata.setDurationMs(duration * 1000 / timescale);
+                    }
+                    break;
+                case "stsd":
+                    readSampleDescription(in, metadata);
+                    break;
+                default:
+                    break;
+            }
+            in.skip(boxEnd - in.position());
+        }
+        return false;
+    }
+
+    private void readSampleDescription(Reader in, AudioMetadata metadata) throws IOException {
+        if (metadata.getSampleRate() != null) {
+            return; // 只取第一個音訊軌
+        }
+        in.skip(8); // version/flags + entry count
+        in.u32be(); // entry size
+        String format = in.ascii(4);
+        if (!"mp4a".equals(format) && !"alac".equals(format) && !"ac-3".equals(format)
+                && !"ec-3".equals(format) && !"Opus".equals(format) && !"fLaC".equals(format)) {
+            return;
+        }
+        in.skip(6 + 2 + 8); // reserved、data reference index、version/revision/vendor
+        metadata.setChannels(in.u16be());
+        in.skip(6); // sample size、compression id、packet size
+        metadata.setSampleRate((int) (in.u32be() >>> 16)); // 16.16 定點數
+    }
+
+    // ===== 工具方法 =====
+
+    private static boolean isMp3Sync(byte[] b, int offset) {
+        return offset + 1 < b.length && (b[offset] & 0xFF) == 0xFF && (b[offset + 1] & 0xE0) == 0xE0;
+    }
+
+    private static boolean startsWith(byte[] b, int offset, String ascii) {
+        if (offset < 0 || offset + ascii.length() > b.length) {
+            return false;
+        }
+        for (int i = 0; i < ascii.length(); i++) {
+            if (b[offset + i] != (byte) ascii.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int beInt(byte[] b, int offset) {
+        if (offset + 4 > b.length) {
+            return 0;
+        }
+        return ((b[offset] & 0xFF) << 24) | ((b[offset + 1] & 0xFF) << 16)
+                | ((b[offset + 2] & 0xFF) << 8) | (b[offset + 3] & 0xFF);
+    }
+
+    private static int leInt(byte[] b, int offset) {
+        return (b[offset] & 0xFF) | ((b[offset + 1] & 0xFF) << 8)
+                | ((b[offset + 2] & 0xFF) << 16) | ((b[offset + 3] & 0xFF) << 24);
+    }
+
+    private static long leLong(byte[] b, int offset) {
+        return (leInt(b, offset) & 0xFFFFFFFFL) | ((long) leInt(b, offset + 4) << 32);
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = new byte[a.length + b.length];
+        System.arraycopy(a, 0, result, 0, a.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    /**
+     * 記錄讀取位置的輸入串流
+     */
+    private static final class Reader {
+
+        private final InputStream in;
+        private long position;
+
+        private Reader(InputStream in) {
+            this.in = in;
+        }
+
+        long position() {
+            return position;
+        }
+
+        byte[] bytes(int n) throws IOException {
+            byte[] b = in.readNBytes(n);
+            position += b.length;
+            if (b.length < n) {
+                throw new EOFException();
+            }
+            return b;
+        }
+
+        byte[] upTo(int n) throws IOException {
+            byte[] b = in.readNBytes(n);
+            position += b.length;
+            return b;
+        }
+
+        String ascii(int n) throws IOException {
+            return new String(bytes(n), StandardCharsets.US_ASCII);
+        }
+
+        int u8() throws IOException {
+            return bytes(1)[0] & 0xFF;
+        }
+
+        int u16le() throws IOException {
+            byte[] b = bytes(2);
+            return (b[0] & 0xFF) | ((b[1] & 0xFF) << 8);
+        }
+
+        long u32le() throws IOException {
+            return leInt(bytes(4), 0) & 0xFFFFFFFFL;
+        }
+
+        int u16be() throws IOException {
+            byte[] b = bytes(2);
+            return ((b[0] & 0xFF) << 8) | (b[1] & 0xFF);
+        }
+
+        long u32be() throws IOException {
+            return beInt(bytes(4), 0) & 0xFFFFFFFFL;
+        }
+
+        long u64be() throws IOException {
+            return (u32be() << 32) | u32be();
+        }
+
+        void skip(long n) throws IOException {
+            if (n < 0) {
+                throw new IOException("無效的區塊大小");
+            }
+            long remaining = n;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    if (in.read() < 0) {
+                        throw new EOFException();
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+            position += n;
+        }
+    }
+}
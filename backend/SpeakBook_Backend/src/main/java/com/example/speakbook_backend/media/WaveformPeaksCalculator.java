@@ -0,0 +1,149 @@
+package com.example.speakbook_backend.media;
+
+import com.example.speakbook_backend.entity.AudioPeaks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 以串流方式計算波形峰值摘要
+ * 只支援 Java Sound 能直接解碼的 PCM 格式（WAV），壓縮格式回傳 null
+ */
+@Component
+public class WaveformPeaksCalculator {
+
+    // 讀取緩衝區（位元組），記憶體用量與檔案大小無關
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final int binsPerSecond;
+    private final int maxBins;
+
+    public WaveformPeaksCalculator(
+            @Value("${speakbook.audio.peaks.bins-per-second:100}") int binsPerSecond,
+            @Value("${speakbook.audio.peaks.max-bins:65536}") int maxBins) {
+        this.binsPerSecond = Math.max(1, binsPerSecond);
+        this.maxBins = Math.max(1, maxBins);
+    }
+
+    /**
+     * 計算峰值摘要（audioId 由呼叫端設定），無法解碼時回傳 null
+     * @param in 音訊內容（由呼叫端負責關閉）
+     */
+    public AudioPeaks calculate(InputStream in) {
+        try (AudioInputStream source = AudioSystem.getAudioInputStream(new BufferedInputStream(in, BUFFER_SIZE))) {
+            AudioFormat sourceFormat = source.getFormat();
+            int channels = sourceFormat.getChannels();
+            AudioFormat pcmFormat = new AudioFormat(sourceFormat.getSampleRate(), 16, channels, true, false);
+            try (AudioInputStream pcm = AudioSystem.getAudioInputStream(pcmFormat, source)) {
+                return calculate(pcm, (int) sourceFormat.getSampleRate(), channels, source.getFrameLength());
+            }
+        } catch (UnsupportedAudioFileException | IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private AudioPeaks calculate(AudioInputStream pcm, int sampleRate, int channels, long frameLength)
+            throws IOException {
+        if (sampleRate <= 0 || channels <= 0) {
+            return null;
+        }
+        int samplesPerBin = Math.max(1, sampleRate / binsPerSecond);
+        if (frameLength > 0 && frameLength / samplesPerBin > maxBins) {
+            samplesPerBin = (int) ((frameLength + maxBins - 1) / maxBins);
+        }
+
+        int frameSize = 2 * channels;
+        byte[] buffer = new byte[BUFFER_SIZE - BUFFER_SIZE % frameSize];
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        int min = Short.MAX_VALUE;
+        int max = Short.MIN_VALUE;
+        int framesInBin = 0;
+        long frames = 0;
+        int carry = 0;
+
+        int n;
+        while ((n = pcm.read(buffer, carry, buffer.length - carry)) != -1) {
+            int available = carry + n;
+            int whole = available - available % frameSize;
+            for (int offset = 0; offset < whole; offset += frameSize) {
+                for (int c = 0; c < channels; c++) {
+                    int i = offset + c * 2;
+                    int sample = (short) ((buffer[i] & 0xFF) | (buffer[i + 1] << 8));
+                    if (sample < min) {
+                        min = sample;
+                    }
+                    if (sample > max) {
+                        max = sample;
+                    }
+                }
+                frames++;
+                if (++framesInBin == samplesPerBin) {
+                    data.write(quantize(min, true));
+                    data.write(quantize(max, false));
+                    min = Short.MAX_VALUE;
+                    max = Short.MIN_VALUE;
+                    framesInBin = 0;
+                }
+            }
+            // 不完整的音框留到下一次讀取
+            carry = available - whole;
+            System.arraycopy(buffer, whole, buffer, 0, carry);
+        }
+        if (framesInBin > 0) {
+            data.write(quantize(min, true));
+            data.write(quantize(max, false));
+        }
+        if (frames == 0) {
+            return null;
+        }
+
+        AudioPeaks peaks = new AudioPeaks();
+        peaks.setSampleRate(sampleRate);
+        peaks.setSamplesPerBin(samplesPerBin);
+        peaks.setBinCount(data.size() / 2);
+        peaks.setFrameCount(frames);
+        peaks.setData(data.toByteArray());
+        return peaks;
+    }
+
+    /**
+     * 16-bit 取樣量化為有號位元組；最小值向下、最大值向上取整，避免低音量片段被抹平
+     */
+    private static int quantize(int sample, boolean floor) {
+        double scaled = sample / 256.0;
+        long rounded = floor ? (long) Math.floor(scaled) : (long) Math.ceil(scaled);
+        return (int) Math.max(-128, Math.min(127, rounded));
+    }
+
+    /**
+     * 將峰值資料合併為指定點數，每點取所涵蓋區間的最小值與最大值
+     */
+    public static byte[] resample(byte[] data, int points) {
+        int bins = data.length / 2;
+        if (points <= 0 || points >= bins) {
+            return data;
+        }
+        byte[] result = new byte[points * 2];
+        for (int p = 0; p < points; p++) {
+            int from = (int) ((long) p * bins / points);
+            int to = Math.max(from + 1, (int) ((long) (p + 1) * bins / points));
+            byte min = Byte.MAX_VALUE;
+            byte max = Byte.MIN_VALUE;
+            for (int b = from; b < to; b++) {
+                min = (byte) Math.min(min, data[b * 2]);
+                max = (byte) Math.max(max, data[b * 2 + 1]);
+            }
+            result[p * 2] = min;
+            result[p * 2 + 1] = max;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.speakbook_backend.repository;
+
+import com.example.speakbook_backend.entity.Audio;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 音訊批次寫入
+ * 音訊主鍵使用 IDENTITY，Hibernate 無法批次 INSERT，因此改以 JDBC batch 執行並取回自動產生的主鍵
+ */
+@Repository
+public class AudioBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audios (name, url, duration, file_size, sample_rate, channels, bitrate, content_hash, " +
+            "category, created_at, updated_at, revision) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 批次新增音訊，完成後回填 id、createdAt、updatedAt 與 revision
+     */
+    public void batchInsert(List<Audio> audios) {
+        if (audios.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Audio audio : audios) {
+                    ps.setString(1, audio.getName());
+                    ps.setString(2, audio.getUrl());
+                    setInteger(ps, 3, audio.getDuration());
+                    setInteger(ps, 4, audio.getFileSize());
+                    setInteger(ps, 5, audio.getSampleRate());
+                    setInteger(ps, 6, audio.getChannels());
+                    setInteger(ps, 7, audio.getBitrate());
+                    ps.setString(8, audio.getContentHash());
+                    ps.setString(9, audio.getCategory());
+                    ps.setTimestamp(10, timestamp);
+                    ps.setTimestamp(11, timestamp);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int i = 0;
+                    while (keys.next() && i < audios.size()) {
+                        audios.get(i++).setId(keys.getLong(1));
+                    }
+                }
+            }
+            return null;
+        });
+
+        for (Audio audio : audios) {
+            audio.setCreatedAt(now);
+            audio.setUpdatedAt(now);
+            audio.setRevision(0L);
+        }
+    }
+
+    private static void setInteger(PreparedStatement ps, int index, Integer value) throws SQLException {
+        if (value != null) {
+            ps.setInt(index, value);
+        } else {
+            ps.setNull(index, Types.INTEGER);
+        }
+    }
+}
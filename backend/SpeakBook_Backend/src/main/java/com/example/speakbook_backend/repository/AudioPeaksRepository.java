@@ -0,0 +1,9 @@
+package com.example.speakbook_backend.repository;
+
+import com.example.speakbook_backend.entity.AudioPeaks;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AudioPeaksRepository extends JpaRepository<AudioPeaks, Long> {
+}
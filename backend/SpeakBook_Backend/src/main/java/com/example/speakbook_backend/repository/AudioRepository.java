@@ -1,14 +1,20 @@
 package com.example.speakbook_backend.repository;
 
+import com.example.speakbook_backend.dto.ResourceVersion;
 import com.example.speakbook_backend.entity.Audio;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AudioRepository extends JpaRepository<Audio, Long> {
@@ -18,6 +24,11 @@ public interface AudioRepository extends JpaRepository<Audio, Long> {
      */
     List<Audio> findByCategory(String category);
     
+    /**
+     * 依 URL 批次查詢音訊（熱區關聯音訊時使用）
+     */
+    List<Audio> findByUrlIn(Collection<String> urls);
+
     /**
      * 分頁查詢所有音訊
      */
@@ -31,8 +42,36 @@ public interface AudioRepository extends JpaRepository<Audio, Long> {
            "OR LOWER(a.category) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     Page<Audio> findByKeyword(@Param("keyword") String keyword, Pageable pageable);
 
+    /**
+     * 分頁查詢所有音訊（不執行 COUNT，只判斷是否有下一頁）
+     */
+    @Query("SELECT a FROM Audio a")
+    Slice<Audio> findAllAsSlice(Pageable pageable);
+
+    /**
+     * 分頁查詢音訊（支援搜尋，不執行 COUNT）
+     */
+    @Query("SELECT a FROM Audio a WHERE " +
+           "LOWER(a.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(a.category) LIKE LOWER(CONCAT('%', :keyword, '%'))")
+    Slice<Audio> findSliceByKeyword(@Param("keyword") String keyword, Pageable pageable);
+
     /**
      * 根據分類分頁查詢
      */
     Page<Audio> findByCategory(String category, Pageable pageable);
+
+    /**
+     * 查詢音訊版本資訊，用於條件式 GET
+     */
+    @Query("SELECT new com.example.speakbook_backend.dto.ResourceVersion(a.id, a.revision, COALESCE(a.updatedAt, a.createdAt)) " +
+           "FROM Audio a WHERE a.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * 遞增音訊版本（音訊欄位未修改，但回應內容已變更時使用，讓 ETag 失效）
+     */
+    @Modifying
+    @Query("UPDATE Audio a SET a.revision = COALESCE(a.revision, 0) + 1, a.updatedAt = :now WHERE a.id = :id")
+    int incrementRevision(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
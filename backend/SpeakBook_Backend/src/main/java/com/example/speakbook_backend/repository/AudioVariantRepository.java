@@ -0,0 +1,26 @@
+package com.example.speakbook_backend.repository;
+
+import com.example.speakbook_backend.entity.AudioVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AudioVariantRepository extends JpaRepository<AudioVariant, Long> {
+
+    List<AudioVariant> findByAudioIdOrderByQualityAsc(Long audioId);
+
+    Optional<AudioVariant> findByAudioIdAndQuality(Long audioId, String quality);
+
+    /**
+     * 刪除音訊的所有衍生版本（原始檔刪除或更換時）
+     */
+    @Modifying
+    @Query("DELETE FROM AudioVariant v WHERE v.audioId = :audioId")
+    int deleteByAudioId(@Param("audioId") Long audioId);
+}
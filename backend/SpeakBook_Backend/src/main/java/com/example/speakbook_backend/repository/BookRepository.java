@@ -1,14 +1,20 @@
 package com.example.speakbook_backend.repository;
 
+import com.example.speakbook_backend.dto.ResourceVersion;
 import com.example.speakbook_backend.entity.Book;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
@@ -24,6 +30,13 @@ public interface BookRepository extends JpaRepository<Book, Long> {
      */
     Page<Book> findByStatus(String status, Pageable pageable);
 
+    /**
+     * 分頁查詢已發布的教材（不執行 COUNT，只判斷是否有下一頁）
+     */
+    Slice<Book> findSliceByStatus(String status, Pageable pageable);
+
+    long countByStatus(String status);
+
     /**
      * 分頁查詢已發布的教材（支援搜尋）
      */
@@ -34,4 +47,68 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     Page<Book> findByStatusAndKeyword(@Param("status") String status, 
                                       @Param("keyword") String keyword, 
                                       Pageable pageable);
+
+    /**
+     * 分頁查詢已發布的教材（支援搜尋，不執行 COUNT，只判斷是否有下一頁）
+     */
+    @Query("SELECT b FROM Book b WHERE b.status = :status " +
+           "AND (LOWER(b.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(b.author) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
+           "OR LOWER(b.description) LIKE LOWER(CONCAT('%', :keyword, '%')))")
+    Slice<Book> findSliceByStatusAndKeyword(@Param("status") String status,
+                                            @Param("keyword") String keyword,
+                                            Pageable pageable);
+
+    /**
+     * 游標分頁：第一頁（新到舊）
+     */
+    List<Book> findByStatusOrderByCreatedAtDescIdDesc(String status, Pageable pageable);
+
+    /**
+     * 游標分頁：第一頁（舊到新）
+     */
+    List<Book> findByStatusOrderByCreatedAtAscIdAsc(String status, Pageable pageable);
+
+    /**
+     * 游標分頁：排在 (createdAt, id) 之前的教材，由新到舊
+     * 依 (status, created_at, id) 索引定位，不需 OFFSET 也不執行 COUNT
+     */
+    @Query("SELECT b FROM Book b WHERE b.status = :status " +
+           "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) " +
+           "ORDER BY b.createdAt DESC, b.id DESC")
+    List<Book> findByStatusBeforeCursor(@Param("status") String status,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        Pageable pageable);
+
+    /**
+     * 游標分頁：排在 (createdAt, id) 之後的教材，由舊到新
+     */
+    @Query("SELECT b FROM Book b WHERE b.status = :status " +
+           "AND (b.createdAt > :createdAt OR (b.createdAt = :createdAt AND b.id > :id)) " +
+           "ORDER BY b.createdAt ASC, b.id ASC")
+    List<Book> findByStatusAfterCursor(@Param("status") String status,
+                                       @Param("createdAt") LocalDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    /**
+     * 查詢教材版本資訊（不載入熱區），用於條件式 GET
+     */
+    @Query("SELECT new com.example.speakbook_backend.dto.ResourceVersion(b.id, b.revision, b.updatedAt) " +
+           "FROM Book b WHERE b.id = :id")
+    Optional<ResourceVersion> findVersionById(@Param("id") Long id);
+
+    /**
+     * 遞增教材版本（內容未直接修改，但引用的資料已變更時使用，讓 ETag 失效）
+     */
+    @Modifying
+    @Query("UPDATE Book b SET b.revision = COALESCE(b.revision, 0) + 1, b.updatedAt = :now WHERE b.id IN :ids")
+    int incrementRevisions(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    /**
+     * 查詢使用指定封面的教材 ID
+     */
+    @Query("SELECT b.id FROM Book b WHERE b.coverImageUrl = :coverImageUrl")
+    List<Long> findIdsByCoverImageUrl(@Param("coverImageUrl") String coverImageUrl);
 }
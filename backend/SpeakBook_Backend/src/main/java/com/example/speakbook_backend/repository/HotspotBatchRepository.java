@@ -0,0 +1,69 @@
+package com.example.speakbook_backend.repository;
+
+import com.example.speakbook_backend.entity.Hotspot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 熱區批次寫入
+ * 熱區主鍵使用 IDENTITY，Hibernate 無法批次 INSERT，因此改以 JDBC batch 執行
+ * （MySQL 需在連線字串加上 rewriteBatchedStatements=true 才會合併為多值語句）
+ */
+@Repository
+public class HotspotBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO hotspots (book_id, label, x, y, width, height, audio_url, audio_id, sort_order, page_number) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE hotspots SET label = ?, x = ?, y = ?, width = ?, height = ?, audio_url = ?, audio_id = ?, " +
+            "sort_order = ?, page_number = ? " +
+            "WHERE id = ? AND book_id = ?";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM hotspots WHERE id = ? AND book_id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void batchInsert(Long bookId, Collection<Hotspot> hotspots) {
+        if (hotspots.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(hotspots.size());
+        for (Hotspot h : hotspots) {
+            args.add(new Object[]{bookId, h.getLabel(), h.getX(), h.getY(), h.getWidth(), h.getHeight(),
+                    h.getAudioUrl(), h.getAudioId(), h.getSortOrder(), h.getPageNumber()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    public void batchUpdate(Long bookId, Collection<Hotspot> hotspots) {
+        if (hotspots.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(hotspots.size());
+        for (Hotspot h : hotspots) {
+            args.add(new Object[]{h.getLabel(), h.getX(), h.getY(), h.getWidth(), h.getHeight(),
+                    h.getAudioUrl(), h.getAudioId(), h.getSortOrder(), h.getPageNumber(), h.getId(), bookId});
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, args);
+    }
+
+    public void batchDelete(Long bookId, Collection<Long> hotspotIds) {
+        if (hotspotIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(hotspotIds.size());
+        for (Long id : hotspotIds) {
+            args.add(new Object[]{id, bookId});
+        }
+        jdbcTemplate.batchUpdate(DELETE_SQL, args);
+    }
+}
@@ -2,8 +2,12 @@ package com.example.speakbook_backend.repository;
 
 import com.example.speakbook_backend.entity.Hotspot;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,4 +16,34 @@ public interface HotspotRepository extends JpaRepository<Hotspot, Long> {
     List<Hotspot> findByBookId(Long bookId);
     
     void deleteByBookId(Long bookId);
+
+    /**
+     * 批次查詢多本教材的熱區（列表頁一次載入，避免 N+1 查詢）
+     */
+    @Query("SELECT h FROM Hotspot h WHERE h.book.id IN :bookIds ORDER BY h.book.id, h.sortOrder, h.id")
+    List<Hotspot> findByBookIdIn(@Param("bookIds") Collection<Long> bookIds);
+
+    /**
+     * 查詢教材指定頁碼範圍的熱區
+     * page_number 為 NOT NULL DEFAULT 1（舊資料已視為第1頁），直接比較欄位才能使用 (book_id, page_number) 索引
+     */
+    @Query("SELECT h FROM Hotspot h WHERE h.book.id = :bookId " +
+           "AND h.pageNumber BETWEEN :fromPage AND :toPage " +
+           "ORDER BY h.pageNumber, h.sortOrder, h.id")
+    List<Hotspot> findByBookIdAndPageRange(@Param("bookId") Long bookId,
+                                           @Param("fromPage") int fromPage,
+                                           @Param("toPage") int toPage);
+
+    /**
+     * 查詢引用指定音訊的教材 ID
+     */
+    @Query("SELECT DISTINCT h.book.id FROM Hotspot h WHERE h.audioId = :audioId")
+    List<Long> findBookIdsByAudioId(@Param("audioId") Long audioId);
+
+    /**
+     * 音訊更換來源後同步熱區上的 URL
+     */
+    @Modifying
+    @Query("UPDATE Hotspot h SET h.audioUrl = :audioUrl WHERE h.audioId = :audioId")
+    int updateAudioUrlByAudioId(@Param("audioId") Long audioId, @Param("audioUrl") String audioUrl);
 }
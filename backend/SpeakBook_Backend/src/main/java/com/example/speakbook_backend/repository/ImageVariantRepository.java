@@ -0,0 +1,19 @@
+package com.example.speakbook_backend.repository;
+
+import com.example.speakbook_backend.entity.ImageVariant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImageVariantRepository extends JpaRepository<ImageVariant, Long> {
+
+    List<ImageVariant> findBySourceHash(String sourceHash);
+
+    /**
+     * 批次查詢多張原始圖片的衍生版本
+     */
+    List<ImageVariant> findBySourceHashIn(Collection<String> sourceHashes);
+}
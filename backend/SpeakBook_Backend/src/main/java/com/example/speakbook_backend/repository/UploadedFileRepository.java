@@ -0,0 +1,28 @@
+package com.example.speakbook_backend.repository;
+
+import com.example.speakbook_backend.entity.UploadedFile;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadedFileRepository extends JpaRepository<UploadedFile, Long> {
+
+    /**
+     * 根據儲存提供者與內容雜湊查詢已上傳的檔案
+     */
+    Optional<UploadedFile> findByProviderAndContentHash(String provider, String contentHash);
+
+    /**
+     * 根據內容雜湊查詢所有儲存提供者的上傳紀錄
+     */
+    List<UploadedFile> findByContentHash(String contentHash);
+
+    /**
+     * 根據 URL 批次查詢已上傳的檔案
+     */
+    List<UploadedFile> findByUrlIn(Collection<String> urls);
+}
@@ -0,0 +1,369 @@
+package com.example.speakbook_backend.search;
+
+import com.example.speakbook_backend.entity.Book;
+import com.example.speakbook_backend.repository.BookRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 已發布教材的記憶體倒排索引
+ * 以字元 n-gram（單字 + 雙字）切分標題、作者與描述，適用於無空白分隔的繁體中文
+ * 查詢先以索引取交集縮小候選，再以子字串比對確認，結果與原本的 LIKE '%kw%' 一致
+ */
+@Component
+public class BookSearchIndex {
+
+    public static final String SORT_RELEVANCE = "relevance";
+
+    // 索引快照包含的排序欄位，其他欄位（例如 author）需由資料庫排序
+    private static final Set<String> SORT_FIELDS =
+            Set.of(SORT_RELEVANCE, "createdAt", "updatedAt", "publishedAt", "title", "id");
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedBook> documents = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private volatile boolean loaded;
+
+    /**
+     * 索引是否支援此排序欄位（null 時依建立時間排序）
+     */
+    public static boolean supportsSort(String sortBy) {
+        return sortBy == null || SORT_FIELDS.contains(sortBy);
+    }
+
+    /**
+     * 搜尋已發布教材
+     * @param keyword 關鍵字
+     * @param sortBy 排序欄位（createdAt、updatedAt、publishedAt、title、id 或 relevance），其他欄位拋出 IllegalArgumentException
+     * @param descending 是否由大到小
+     * @param offset 起始位置
+     * @param limit 筆數
+     */
+    public SearchResult search(String keyword, String sortBy, boolean descending, int offset, int limit) {
+        if (!supportsSort(sortBy)) {
+            throw new IllegalArgumentException("搜尋不支援的排序欄位：" + sortBy);
+        }
+        ensureLoaded();
+        String query = normalize(keyword);
+
+        List<ScoredBook> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Long id : candidates(query)) {
+                IndexedBook doc = documents.get(id);
+                int score = doc != null ? doc.score(query) : 0;
+                if (score > 0) {
+                    matches.add(new ScoredBook(doc, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        matches.sort(comparator(sortBy, descending));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = offset; i < matches.size() && ids.size() < limit; i++) {
+            ids.add(matches.get(i).book.id);
+        }
+        return new SearchResult(ids, matches.size());
+    }
+
+    /**
+     * 新增或更新索引（未發布的教材會從索引移除）
+     * 在交易中呼叫時，於提交後才套用
+     */
+    public void index(Book book) {
+        if (book == null || book.getId() == null) {
+            return;
+        }
+        // 提交後才建立快照，此時 @PreUpdate 已更新 updatedAt
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(book.getId());
+                if ("published".equals(book.getStatus())) {
+                    add(new IndexedBook(book));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 從索引移除
+     * 在交易中呼叫時，於提交後才套用
+     */
+    public void remove(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                unindex(bookId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * 重新從資料庫建立索引
+     * 在寫入鎖內讀取快照：提交後的 index/remove 若先取得鎖，其變更已在資料庫中；
+     * 若後取得鎖，則套用在新的快照之上，不會被較舊的快照覆蓋
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            List<Book> books = bookRepository.findByStatus("published");
+            documents.clear();
+            postings.clear();
+            for (Book book : books) {
+                add(new IndexedBook(book));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    private void add(IndexedBook doc) {
+        documents.put(doc.id, doc);
+        for (String token : doc.tokens()) {
+            postings.computeIfAbsent(token, k -> new HashSet<>()).add(doc.id);
+        }
+    }
+
+    private void unindex(Long id) {
+        IndexedBook existing = documents.remove(id);
+        if (existing == null) {
+            return;
+        }
+        for (String token : existing.tokens()) {
+            Set<Long> ids = postings.get(token);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+    }
+
+    /**
+     * 取得候選教材：查詢的所有 n-gram 之交集，從最短的倒排列表開始（單一 code point 的查詢以單字查詢）
+     */
+    private Set<Long> candidates(String query) {
+        Set<String> grams = query.codePointCount(0, query.length()) == 1 ? Set.of(query) : bigrams(query);
+        List<Set<Long>> lists = new ArrayList<>();
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        if (lists.isEmpty()) {
+            return Set.of();
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    private static Comparator<ScoredBook> comparator(String sortBy, boolean descending) {
+        Comparator<ScoredBook> byId = Comparator.comparing(s -> s.book.id);
+        if (SORT_RELEVANCE.equals(sortBy)) {
+            // 相關度一律由高到低，同分時新的在前
+            return Comparator.<ScoredBook>comparingInt(s -> s.score).reversed()
+                    .thenComparing(s -> s.book.createdAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                    .thenComparing(byId.reversed());
+        }
+
+        Comparator<ScoredBook> comparator;
+        if ("title".equals(sortBy)) {
+            comparator = Comparator.comparing(s -> s.book.rawTitle, Comparator.nullsFirst(Comparator.naturalOrder()));
+        } else if ("updatedAt".equals(sortBy)) {
+            comparator = Comparator.comparing(s -> s.book.updatedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+        } else if ("publishedAt".equals(sortBy)) {
+            comparator = Comparator.comparing(s -> s.book.publishedAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+        } else if ("id".equals(sortBy)) {
+            comparator = byId;
+        } else {
+            // createdAt 或未指定
+            comparator = Comparator.comparing(s -> s.book.createdAt, Comparator.nullsFirst(Comparator.naturalOrder()));
+        }
+        comparator = comparator.thenComparing(byId);
+        return descending ? comparator.reversed() : comparator;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 正規化：全形轉半形（NFKC）並轉小寫
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return Normalizer.normalize(text.trim(), Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 字元雙字切分（以 code point 計，支援擴充區漢字）
+     */
+    static Set<String> bigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        int[] cps = text.codePoints().toArray();
+        for (int i = 0; i + 1 < cps.length; i++) {
+            grams.add(new String(cps, i, 2));
+        }
+        return grams;
+    }
+
+    static Set<String> unigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        text.codePoints().forEach(cp -> grams.add(new String(Character.toChars(cp))));
+        return grams;
+    }
+
+    /**
+     * 索引中的教材快照
+     */
+    private static final class IndexedBook {
+        private final Long id;
+        private final String rawTitle;
+        private final String title;
+        private final String author;
+        private final String description;
+        private final LocalDateTime createdAt;
+        private final LocalDateTime updatedAt;
+        private final LocalDateTime publishedAt;
+
+        private IndexedBook(Book book) {
+            this.id = book.getId();
+            this.rawTitle = book.getTitle();
+            this.title = normalize(book.getTitle());
+            this.author = normalize(book.getAuthor());
+            this.description = normalize(book.getDescription());
+            this.createdAt = book.getCreatedAt();
+            this.updatedAt = book.getUpdatedAt();
+            this.publishedAt = book.getPublishedAt();
+        }
+
+        private Set<String> tokens() {
+            Set<String> tokens = new HashSet<>();
+            for (String field : new String[]{title, author, description}) {
+                tokens.addAll(unigrams(field));
+                tokens.addAll(bigrams(field));
+            }
+            return tokens;
+        }
+
+        /**
+         * 相關度：標題命中 > 作者命中 > 描述命中，完全相等或開頭命中額外加分
+         * 未命中回傳 0
+         */
+        private int score(String query) {
+            int score = 0;
+            if (title.contains(query)) {
+                score += 30;
+                if (title.equals(query)) {
+                    score += 20;
+                } else if (title.startsWith(query)) {
+                    score += 10;
+                }
+            }
+            if (author.contains(query)) {
+                score += author.equals(query) ? 25 : 15;
+            }
+            if (description.contains(query)) {
+                score += 5 + Math.min(occurrences(description, query), 5);
+            }
+            return score;
+        }
+
+        private static int occurrences(String text, String query) {
+            int count = 0;
+            for (int i = text.indexOf(query); i >= 0; i = text.indexOf(query, i + query.length())) {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    private static final class ScoredBook {
+        private final IndexedBook book;
+        private final int score;
+
+        private ScoredBook(IndexedBook book, int score) {
+            this.book = book;
+            this.score = score;
+        }
+    }
+
+    /**
+     * 搜尋結果：當頁教材 ID（已排序）與符合總數
+     */
+    public static final class SearchResult {
+        private final List<Long> ids;
+        private final int total;
+
+        public SearchResult(List<Long> ids, int total) {
+            this.ids = ids;
+            this.total = total;
+        }
+
+        public List<Long> getIds() {
+            return ids;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.speakbook_backend.search;
+
+import com.example.speakbook_backend.dto.HotspotDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * 單一教材熱區的均勻網格空間索引（建立後不可變）
+ * 將熱區外框所涵蓋的範圍切成約 √n × √n 個格子，每格記錄與其重疊的熱區，
+ * 點擊查詢只需檢查所在格子的少數熱區
+ */
+public class HotspotGrid {
+
+    private final List<HotspotDTO> hotspots;
+    private final int minX;
+    private final int minY;
+    private final int cellWidth;
+    private final int cellHeight;
+    private final int columns;
+    private final int rows;
+    private final int[][] cells;
+
+    public HotspotGrid(List<HotspotDTO> source) {
+        this.hotspots = new ArrayList<>();
+        if (source != null) {
+            for (HotspotDTO hotspot : source) {
+                if (isValid(hotspot)) {
+                    hotspots.add(hotspot);
+                }
+            }
+        }
+
+        int n = hotspots.size();
+        int loX = Integer.MAX_VALUE, loY = Integer.MAX_VALUE, hiX = Integer.MIN_VALUE, hiY = Integer.MIN_VALUE;
+        for (HotspotDTO h : hotspots) {
+            loX = Math.min(loX, h.getX());
+            loY = Math.min(loY, h.getY());
+            hiX = Math.max(hiX, h.getX() + h.getWidth());
+            hiY = Math.max(hiY, h.getY() + h.getHeight());
+        }
+        if (n == 0) {
+            loX = loY = 0;
+            hiX = hiY = 1;
+        }
+
+        int side = Math.max(1, (int) Math.ceil(Math.sqrt(n)));
+        this.minX = loX;
+        this.minY = loY;
+        this.columns = side;
+        this.rows = side;
+        this.cellWidth = Math.max(1, (int) Math.ceil((double) (hiX - loX) / side));
+        this.cellHeight = Math.max(1, (int) Math.ceil((double) (hiY - loY) / side));
+
+        // 先計數再填入，避免每格使用動態集合
+        int[] counts = new int[columns * rows];
+        for (HotspotDTO h : hotspots) {
+            forEachCell(h, cell -> counts[cell]++);
+        }
+        this.cells = new int[columns * rows][];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            int index = i;
+            forEachCell(hotspots.get(i), cell -> cells[cell][counts[cell]++] = index);
+        }
+    }
+
+    /**
+     * 查詢包含 (x, y) 的熱區
+     * 多個熱區重疊時取面積最小者（最精確），面積相同取 sortOrder 較大者（繪製於上層）
+     * @return 命中的熱區，未命中時回傳 null
+     */
+    public HotspotDTO hit(int x, int y) {
+        if (x < minX || y < minY) {
+            return null;
+        }
+        int column = (x - minX) / cellWidth;
+        int row = (y - minY) / cellHeight;
+        if (column >= columns || row >= rows) {
+            return null;
+        }
+
+        HotspotDTO best = null;
+        long bestArea = Long.MAX_VALUE;
+        for (int index : cells[row * columns + column]) {
+            HotspotDTO h = hotspots.get(index);
+            if (x >= h.getX() && x < h.getX() + h.getWidth() && y >= h.getY() && y < h.getY() + h.getHeight()) {
+                long area = (long) h.getWidth() * h.getHeight();
+                if (best == null || area < bestArea || (area == bestArea && sortOrder(h) > sortOrder(best))) {
+                    best = h;
+                    bestArea = area;
+                }
+            }
+        }
+        return best;
+    }
+
+    public int size() {
+        return hotspots.size();
+    }
+
+    private void forEachCell(HotspotDTO h, IntConsumer action) {
+        int firstColumn = (h.getX() - minX) / cellWidth;
+        int firstRow = (h.getY() - minY) / cellHeight;
+        int lastColumn = Math.min(columns - 1, (h.getX() + h.getWidth() - 1 - minX) / cellWidth);
+        int lastRow = Math.min(rows - 1, (h.getY() + h.getHeight() - 1 - minY) / cellHeight);
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int column = firstColumn; column <= lastColumn; column++) {
+                action.accept(row * columns + column);
+            }
+        }
+    }
+
+    private static boolean isValid(HotspotDTO h) {
+        return h.getX() != null && h.getY() != null && h.getWidth() != null && h.getHeight() != null
+                && h.getWidth() > 0 && h.getHeight() > 0;
+    }
+
+    private static int sortOrder(HotspotDTO h) {
+        return h.getSortOrder() != null ? h.getSortOrder() : 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.speakbook_backend.search;
+
+import com.example.speakbook_backend.cache.CacheStats;
+import com.example.speakbook_backend.cache.WeightedLruCache;
+import com.example.speakbook_backend.dto.BookDTO;
+import com.example.speakbook_backend.dto.HotspotDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 各教材熱區空間索引的快取，首次點擊查詢時建立，教材更新時失效
+ * 不同頁的熱區座標互相重疊，因此每頁各自建立一個網格
+ */
+@Component
+public class HotspotSpatialIndex {
+
+    private static final HotspotGrid EMPTY = new HotspotGrid(Collections.emptyList());
+
+    private final WeightedLruCache<Long, Map<Integer, HotspotGrid>> grids;
+
+    public HotspotSpatialIndex(@Value("${speakbook.cache.hotspot-grid.max-bytes:8388608}") long maxBytes) {
+        // 每個熱區約佔 64 位元組（網格引用與格子索引）
+        this.grids = new WeightedLruCache<>("hotspotGrid", maxBytes, HotspotSpatialIndex::weigh);
+    }
+
+    /**
+     * 取得教材指定頁的空間索引，不存在時以 loader 提供的教材詳情建立
+     */
+    public HotspotGrid get(Long bookId, int page, Supplier<BookDTO> loader) {
+        Map<Integer, HotspotGrid> pages = grids.get(bookId, id -> build(loader.get().getHotspots()));
+        return pages.getOrDefault(page, EMPTY);
+    }
+
+    /**
+     * 使教材的空間索引失效（提交後再失效一次）
+     */
+    public void evict(Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+        grids.invalidate(bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    grids.invalidate(bookId);
+                }
+            });
+        }
+    }
+
+    public CacheStats getStats() {
+        return grids.getStats();
+    }
+
+    private static Map<Integer, HotspotGrid> build(List<HotspotDTO> hotspots) {
+        Map<Integer, List<HotspotDTO>> byPage = new HashMap<>();
+        if (hotspots != null) {
+            for (HotspotDTO hotspot : hotspots) {
+                int page = hotspot.getPage() != null ? hotspot.getPage() : 1;
+                byPage.computeIfAbsent(page, k -> new ArrayList<>()).add(hotspot);
+            }
+        }
+
+        Map<Integer, HotspotGrid> pages = new HashMap<>();
+        byPage.forEach((page, list) -> pages.put(page, new HotspotGrid(list)));
+        return pages;
+    }
+
+    private static int weigh(Map<Integer, HotspotGrid> pages) {
+        int weight = 256;
+        for (HotspotGrid grid : pages.values()) {
+            weight += 128 + grid.size() * 64;
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioVariantDTO;
+
+import java.util.List;
+
+public interface AudioDerivativeService {
+
+    String QUALITY_ORIGINAL = "original";
+    String QUALITY_LOW = "low";
+
+    /**
+     * 交易提交後於背景產生衍生版本（目前只處理 WAV）
+     */
+    void scheduleDerivatives(Long audioId, String url);
+
+    /**
+     * 刪除音訊的所有衍生版本
+     */
+    void deleteDerivatives(Long audioId);
+
+    /**
+     * 獲取音訊已產生的衍生版本
+     */
+    List<AudioVariantDTO> getVariants(Long audioId);
+
+    /**
+     * 依品質取得音訊 URL，該品質尚未產生時回傳 null
+     */
+    String getVariantUrl(Long audioId, String quality);
+}
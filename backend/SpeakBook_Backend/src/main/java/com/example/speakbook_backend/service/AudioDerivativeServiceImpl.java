@@ -0,0 +1,223 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.cache.AudioFileCache;
+import com.example.speakbook_backend.dto.AudioVariantDTO;
+import com.example.speakbook_backend.dto.UploadResponse;
+import com.example.speakbook_backend.entity.AudioVariant;
+import com.example.speakbook_backend.repository.AudioRepository;
+import com.example.speakbook_backend.repository.AudioVariantRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * WAV 音訊的低位元率衍生版本
+ * 以 Java Sound 轉為單聲道 16-bit PCM 並降取樣（預設 16kHz），
+ * 44.1kHz 立體聲的檔案約可縮小為原本的 1/5
+ */
+@Service
+public class AudioDerivativeServiceImpl implements AudioDerivativeService {
+
+    @Autowired
+    private AudioRepository audioRepository;
+
+    @Autowired
+    private AudioVariantRepository audioVariantRepository;
+
+    @Autowired
+    private AudioFileCache audioFileCache;
+
+    @Autowired
+    private UploadService uploadService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final float targetSampleRate;
+
+    private final ThreadPoolExecutor executor;
+
+    public AudioDerivativeServiceImpl(
+            @Value("${speakbook.audio.derivative.sample-rate:16000}") float targetSampleRate,
+            @Value("${speakbook.audio.derivative.threads:2}") int threads,
+            @Value("${speakbook.audio.derivative.queue-size:1000}") int queueSize) {
+        this.targetSampleRate = targetSampleRate;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "audio-derivative-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void scheduleDerivatives(Long audioId, String url) {
+        if (audioId == null || !isWav(url)) {
+            return;
+        }
+        Runnable submit = () -> {
+            try {
+                executor.execute(() -> generate(audioId, url));
+            } catch (RejectedExecutionException e) {
+                // 佇列已滿時略過，原始音訊仍可正常使用
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteDerivatives(Long audioId) {
+        audioVariantRepository.deleteByAudioId(audioId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AudioVariantDTO> getVariants(Long audioId) {
+        return audioVariantRepository.findByAudioIdOrderByQualityAsc(audioId).stream()
+                .map(this::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public String getVariantUrl(Long audioId, String quality) {
+        return audioVariantRepository.findByAudioIdAndQuality(audioId, quality)
+                .map(AudioVariant::getUrl)
+                .orElse(null);
+    }
+
+    /**
+     * 產生低位元率版本並上傳；失敗時不重試，原始音訊不受影響
+     */
+    private void generate(Long audioId, String url) {
+        Path output = null;
+        try {
+            // 音訊在排程後被刪除或更換來源時略過
+            boolean current = audioRepository.findById(audioId)
+                    .map(audio -> url.equals(audio.getUrl()))
+                    .orElse(false);
+            if (!current || audioVariantRepository.findByAudioIdAndQuality(audioId, QUALITY_LOW).isPresent()) {
+                return;
+            }
+
+            Path source = audioFileCache.get(url);
+            output = Files.createTempFile("speakbook-derivative-", ".wav");
+            AudioFormat format = transcode(source, output);
+            if (format == null) {
+                return;
+            }
+
+            String fileName = "audio-" + audioId + "-" + QUALITY_LOW + ".wav";
+            UploadResponse uploaded = uploadService.uploadFile(output, fileName, "audio/wav");
+
+            AudioVariant variant = new AudioVariant();
+            variant.setAudioId(audioId);
+            variant.setQuality(QUALITY_LOW);
+            variant.setUrl(uploaded.getUrl());
+            variant.setSampleRate((int) format.getSampleRate());
+            variant.setChannels(format.getChannels());
+            variant.setBitrate((int) (format.getSampleRate() * format.getFrameSize() * 8));
+            variant.setFileSize(Files.size(output));
+            // GET /api/audios/{id} 的回應包含衍生版本，與版本遞增同一交易，讓客戶端的 ETag 失效
+            transactionTemplate.executeWithoutResult(status -> {
+                audioVariantRepository.save(variant);
+                audioRepository.incrementRevision(audioId, LocalDateTime.now());
+            });
+        } catch (DataIntegrityViolationException e) {
+            // 已由其他工作產生
+        } catch (Exception e) {
+            // 衍生版本為最佳化，失敗時用戶端會回退到原始檔
+        } finally {
+            if (output != null) {
+                try {
+                    Files.deleteIfExists(output);
+                } catch (IOException ignored) {
+                    // 暫存檔刪除失敗不影響結果
+                }
+            }
+        }
+    }
+
+    /**
+     * 串流轉檔為單聲道 16-bit PCM，回傳輸出格式；原始檔已不高於目標規格時回傳 null
+     */
+    private AudioFormat transcode(Path source, Path output) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream in = AudioSystem.getAudioInputStream(source.toFile())) {
+            AudioFormat sourceFormat = in.getFormat();
+            if (sourceFormat.getChannels() == 1 && sourceFormat.getSampleRate() <= targetSampleRate
+                    && sourceFormat.getSampleSizeInBits() <= 16) {
+                return null;
+            }
+
+            float sampleRate = Math.min(targetSampleRate, sourceFormat.getSampleRate());
+            AudioFormat targetFormat = new AudioFormat(sampleRate, 16, 1, true, false);
+            try (AudioInputStream converted = AudioSystem.getAudioInputStream(targetFormat, in)) {
+                AudioSystem.write(converted, AudioFileFormat.Type.WAVE, output.toFile());
+            }
+            return targetFormat;
+        }
+    }
+
+    private static boolean isWav(String url) {
+        if (url == null) {
+            return false;
+        }
+        String path = url.toLowerCase(Locale.ROOT);
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        return path.endsWith(".wav") || path.endsWith(".wave");
+    }
+
+    private AudioVariantDTO toDTO(AudioVariant variant) {
+        AudioVariantDTO dto = new AudioVariantDTO();
+        dto.setQuality(variant.getQuality());
+        dto.setUrl(variant.getUrl());
+        dto.setSampleRate(variant.getSampleRate());
+        dto.setChannels(variant.getChannels());
+        dto.setBitrate(variant.getBitrate());
+        dto.setFileSize(variant.getFileSize());
+        return dto;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioImportResult;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+public interface AudioImportService {
+
+    /**
+     * 批次匯入音訊：並行上傳到遠端儲存後一次寫入數據庫
+     * 單一檔案失敗不影響其他檔案，結果順序與輸入相同
+     */
+    List<AudioImportResult> importAudios(List<MultipartFile> files, String category);
+}
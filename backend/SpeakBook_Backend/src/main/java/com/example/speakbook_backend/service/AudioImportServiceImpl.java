@@ -0,0 +1,118 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioDTO;
+import com.example.speakbook_backend.dto.AudioImportResult;
+import com.example.speakbook_backend.dto.PreparedAudio;
+import com.example.speakbook_backend.entity.AudioPeaks;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class AudioImportServiceImpl implements AudioImportService {
+
+    @Autowired
+    private AudioService audioService;
+
+    @Autowired
+    private AudioIngestService audioIngestService;
+
+    private final int maxFiles;
+
+    // 所有匯入請求共用，限制同時連往遠端儲存的上傳數
+    private final ExecutorService uploadExecutor;
+
+    public AudioImportServiceImpl(
+            @Value("${speakbook.upload.import.parallelism:4}") int parallelism,
+            @Value("${speakbook.upload.import.max-files:200}") int maxFiles) {
+        this.maxFiles = maxFiles;
+        AtomicInteger counter = new AtomicInteger();
+        this.uploadExecutor = Executors.newFixedThreadPool(Math.max(1, parallelism), runnable -> {
+            Thread thread = new Thread(runnable, "audio-import-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        uploadExecutor.shutdownNow();
+    }
+
+    @Override
+    public List<AudioImportResult> importAudios(List<MultipartFile> files, String category) {
+        if (files == null || files.isEmpty()) {
+            throw new IllegalArgumentException("請選擇要上傳的音訊");
+        }
+        if (files.size() > maxFiles) {
+            throw new IllegalArgumentException("單次最多匯入 " + maxFiles + " 個檔案");
+        }
+
+        // 1. 並行上傳（驗證、解析資訊、上傳到遠端）
+        List<CompletableFuture<PreparedAudio>> uploads = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            uploads.add(CompletableFuture.supplyAsync(() -> upload(file, category), uploadExecutor));
+        }
+
+        AudioImportResult[] results = new AudioImportResult[files.size()];
+        List<AudioDTO> uploaded = new ArrayList<>();
+        List<AudioPeaks> uploadedPeaks = new ArrayList<>();
+        List<Integer> uploadedIndexes = new ArrayList<>();
+        for (int i = 0; i < files.size(); i++) {
+            String fileName = files.get(i).getOriginalFilename();
+            try {
+                PreparedAudio result = uploads.get(i).join();
+                uploaded.add(result.getAudio());
+                uploadedPeaks.add(result.getPeaks());
+                uploadedIndexes.add(i);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results[i] = AudioImportResult.fail(fileName, cause.getMessage());
+            }
+        }
+
+        // 2. 音訊與波形在同一交易中批次寫入數據庫，失敗時全部回滾，重試不會產生重複的音訊
+        if (!uploaded.isEmpty()) {
+            try {
+                List<AudioDTO> created = audioService.createAudios(uploaded, uploadedPeaks);
+                for (int j = 0; j < created.size(); j++) {
+                    int i = uploadedIndexes.get(j);
+                    results[i] = AudioImportResult.success(files.get(i).getOriginalFilename(), created.get(j));
+                }
+            } catch (RuntimeException e) {
+                for (int i : uploadedIndexes) {
+                    results[i] = AudioImportResult.fail(files.get(i).getOriginalFilename(),
+                            "保存音訊失敗：" + e.getMessage());
+                }
+            }
+        }
+
+        return List.of(results);
+    }
+
+    /**
+     * 驗證並上傳單一檔案，失敗時拋出例外（訊息即為回傳給用戶端的失敗原因）
+     */
+    private PreparedAudio upload(MultipartFile file, String category) {
+        if (file.isEmpty()) {
+            throw new IllegalArgumentException("檔案為空");
+        }
+        audioIngestService.validate(file.getContentType(), file.getSize());
+
+        try {
+            return audioIngestService.prepare(file, null, category);
+        } catch (Exception e) {
+            throw new CompletionException(new Exception("音訊上傳失敗：" + e.getMessage(), e));
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioDTO;
+import com.example.speakbook_backend.dto.PreparedAudio;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.nio.file.Path;
+
+/**
+ * 音訊建立流程（單檔上傳、批次匯入、分段上傳共用）：
+ * 解析資訊、計算波形、上傳到儲存後端、保存音訊與波形
+ */
+public interface AudioIngestService {
+
+    // 所有音訊上傳端點共用的大小上限
+    long MAX_AUDIO_SIZE = 50L * 1024 * 1024;
+
+    /**
+     * 驗證音訊類型（MP3、WAV、OGG、M4A）
+     */
+    boolean isValidAudioType(String contentType);
+
+    /**
+     * 驗證類型與大小，不符合時拋出 IllegalArgumentException（訊息可直接回傳給用戶端）
+     */
+    void validate(String contentType, long fileSize);
+
+    /**
+     * 解析資訊、計算波形並上傳到儲存後端，不保存到數據庫（供批次寫入）
+     */
+    PreparedAudio prepare(MultipartFile file, String name, String category) throws Exception;
+
+    /**
+     * 完整建立上傳的音訊，音訊與波形在同一交易中保存，回傳建立後的音訊
+     */
+    AudioDTO ingest(MultipartFile file, String name, String category) throws Exception;
+
+    /**
+     * 完整建立本機檔案的音訊，音訊與波形在同一交易中保存，回傳建立後的音訊
+     */
+    AudioDTO ingest(Path file, String fileName, String contentType, String name, String category) throws Exception;
+}
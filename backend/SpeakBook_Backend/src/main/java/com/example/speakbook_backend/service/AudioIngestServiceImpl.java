@@ -0,0 +1,126 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioDTO;
+import com.example.speakbook_backend.dto.PreparedAudio;
+import com.example.speakbook_backend.dto.UploadResponse;
+import com.example.speakbook_backend.entity.AudioPeaks;
+import com.example.speakbook_backend.media.AudioMetadata;
+import com.example.speakbook_backend.media.AudioMetadataExtractor;
+import com.example.speakbook_backend.media.WaveformPeaksCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+@Service
+public class AudioIngestServiceImpl implements AudioIngestService {
+
+    @Autowired
+    private UploadService uploadService;
+
+    @Autowired
+    private AudioService audioService;
+
+    @Autowired
+    private AudioMetadataExtractor audioMetadataExtractor;
+
+    @Autowired
+    private WaveformPeaksCalculator waveformPeaksCalculator;
+
+    @Override
+    public boolean isValidAudioType(String contentType) {
+        return contentType.equals("audio/mpeg") ||      // MP3
+               contentType.equals("audio/mp3") ||       // MP3
+               contentType.equals("audio/wav") ||       // WAV
+               contentType.equals("audio/wave") ||      // WAV
+               contentType.equals("audio/x-wav") ||     // WAV
+               contentType.equals("audio/ogg") ||       // OGG
+               contentType.equals("audio/x-m4a") ||     // M4A
+               contentType.equals("audio/mp4");         // M4A
+    }
+
+    @Override
+    public void validate(String contentType, long fileSize) {
+        if (contentType == null || !isValidAudioType(contentType)) {
+            throw new IllegalArgumentException("不支援的音訊格式，請上傳 MP3、WAV、OGG 或 M4A 格式");
+        }
+        if (fileSize > MAX_AUDIO_SIZE) {
+            throw new IllegalArgumentException("音訊檔案過大，請上傳小於 50MB 的音訊");
+        }
+    }
+
+    @Override
+    public PreparedAudio prepare(MultipartFile file, String name, String category) throws Exception {
+        return prepare(file, file.getSize(), file.getOriginalFilename(), name, category,
+                () -> uploadService.uploadFile(file));
+    }
+
+    @Override
+    public AudioDTO ingest(MultipartFile file, String name, String category) throws Exception {
+        return save(prepare(file, name, category));
+    }
+
+    @Override
+    public AudioDTO ingest(Path file, String fileName, String contentType, String name, String category)
+            throws Exception {
+        PreparedAudio prepared = prepare(() -> Files.newInputStream(file), Files.size(file), fileName, name, category,
+                () -> uploadService.uploadFile(file, fileName, contentType));
+        return save(prepared);
+    }
+
+    /**
+     * 1. 解析時長、取樣率等資訊（只串流讀取檔頭）與波形峰值
+     * 2. 上傳到儲存後端
+     * 3. 準備音訊數據
+     */
+    private PreparedAudio prepare(InputStreamSource source, long fileSize, String fileName,
+                                  String name, String category, Upload upload) throws Exception {
+        AudioMetadata metadata;
+        try (InputStream in = source.getInputStream()) {
+            metadata = audioMetadataExtractor.extract(in, fileSize);
+        }
+        AudioPeaks peaks = null;
+        if ("wav".equals(metadata.getFormat())) {
+            try (InputStream in = source.getInputStream()) {
+                peaks = waveformPeaksCalculator.calculate(in);
+            }
+        }
+
+        UploadResponse uploadResponse = upload.upload();
+
+        AudioDTO audioDTO = new AudioDTO();
+        audioDTO.setName(name != null && !name.trim().isEmpty() ? name : fileName);
+        audioDTO.setUrl(uploadResponse.getUrl());
+        audioDTO.setFileSize((int) fileSize);
+        audioDTO.setDuration(metadata.getDurationSeconds());
+        audioDTO.setSampleRate(metadata.getSampleRate());
+        audioDTO.setChannels(metadata.getChannels());
+        audioDTO.setBitrate(metadata.getBitrate());
+        audioDTO.setContentHash(uploadResponse.getContentHash());
+        audioDTO.setCategory(category);
+        return new PreparedAudio(audioDTO, peaks);
+    }
+
+    /**
+     * 4. 保存到數據庫
+     */
+    private AudioDTO save(PreparedAudio prepared) {
+        List<AudioDTO> created = audioService.createAudios(
+                List.of(prepared.getAudio()), Collections.singletonList(prepared.getPeaks()));
+        return audioService.getAudioById(created.get(0).getId());
+    }
+
+    /**
+     * 上傳到儲存後端（MultipartFile 與本機檔案使用不同的 UploadService 方法）
+     */
+    @FunctionalInterface
+    private interface Upload {
+        UploadResponse upload() throws Exception;
+    }
+}
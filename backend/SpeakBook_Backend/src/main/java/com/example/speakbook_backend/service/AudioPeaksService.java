@@ -0,0 +1,24 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioPeaksDTO;
+import com.example.speakbook_backend.entity.AudioPeaks;
+
+import java.util.List;
+
+public interface AudioPeaksService {
+
+    /**
+     * 保存上傳時計算的峰值摘要（audioId 需已設定）
+     */
+    void savePeaks(List<AudioPeaks> peaks);
+
+    /**
+     * 獲取指定點數的波形峰值，points 不大於 0 或超過原始解析度時回傳原始解析度
+     */
+    AudioPeaksDTO getPeaks(Long audioId, int points);
+
+    /**
+     * 刪除音訊的峰值摘要
+     */
+    void deletePeaks(Long audioId);
+}
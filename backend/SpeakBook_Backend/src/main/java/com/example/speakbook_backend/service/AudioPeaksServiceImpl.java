@@ -0,0 +1,43 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioPeaksDTO;
+import com.example.speakbook_backend.entity.AudioPeaks;
+import com.example.speakbook_backend.media.WaveformPeaksCalculator;
+import com.example.speakbook_backend.repository.AudioPeaksRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+public class AudioPeaksServiceImpl implements AudioPeaksService {
+
+    @Autowired
+    private AudioPeaksRepository audioPeaksRepository;
+
+    @Override
+    @Transactional
+    public void savePeaks(List<AudioPeaks> peaks) {
+        if (!peaks.isEmpty()) {
+            audioPeaksRepository.saveAll(peaks);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AudioPeaksDTO getPeaks(Long audioId, int points) {
+        AudioPeaks peaks = audioPeaksRepository.findById(audioId)
+                .orElseThrow(() -> new RuntimeException("音訊沒有波形資料，ID: " + audioId));
+        byte[] data = WaveformPeaksCalculator.resample(peaks.getData(), points);
+        return new AudioPeaksDTO(data.length / 2, peaks.getDurationMs(), data);
+    }
+
+    @Override
+    @Transactional
+    public void deletePeaks(Long audioId) {
+        if (audioPeaksRepository.existsById(audioId)) {
+            audioPeaksRepository.deleteById(audioId);
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.speakbook_backend.service;
 
+import com.example.speakbook_backend.cache.AudioFileCacheStats;
 import com.example.speakbook_backend.dto.AudioDTO;
 import com.example.speakbook_backend.dto.PageRequest;
 import com.example.speakbook_backend.dto.PageResponse;
+import com.example.speakbook_backend.dto.ResourceVersion;
+import com.example.speakbook_backend.entity.AudioPeaks;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public interface AudioService {
@@ -13,6 +17,17 @@ public interface AudioService {
      */
     Long createAudio(AudioDTO audioDTO);
 
+    /**
+     * 批次創建音訊（單一交易、JDBC batch 寫入），回傳建立後的音訊，順序與輸入相同
+     */
+    List<AudioDTO> createAudios(List<AudioDTO> audioDTOs);
+
+    /**
+     * 批次創建音訊並保存波形峰值（同一交易），peaks 與 audioDTOs 一一對應，沒有波形的項目為 null
+     * 任一筆寫入失敗時全部回滾，不會留下沒有回報給用戶端的音訊
+     */
+    List<AudioDTO> createAudios(List<AudioDTO> audioDTOs, List<AudioPeaks> peaks);
+
     /**
      * 更新音訊
      */
@@ -23,6 +38,11 @@ public interface AudioService {
      */
     AudioDTO getAudioById(Long id);
 
+    /**
+     * 獲取音訊版本資訊，用於條件式 GET
+     */
+    ResourceVersion getAudioVersion(Long id);
+
     /**
      * 獲取所有音訊
      */
@@ -42,4 +62,19 @@ public interface AudioService {
      * 分頁查詢音訊
      */
     PageResponse<AudioDTO> getAudiosWithPagination(PageRequest pageRequest);
+
+    /**
+     * 取得音訊 URL 的本機快取檔案，未快取時從遠端下載
+     */
+    Path getAudioFile(String url);
+
+    /**
+     * 記錄串流送出的位元組數
+     */
+    void recordBytesServed(long bytes);
+
+    /**
+     * 音訊磁碟快取統計
+     */
+    AudioFileCacheStats getAudioFileCacheStats();
 }
@@ -1,18 +1,28 @@
 package com.example.speakbook_backend.service;
 
+import com.example.speakbook_backend.cache.AudioFileCache;
+import com.example.speakbook_backend.cache.AudioFileCacheStats;
+import com.example.speakbook_backend.cache.ListingCountCache;
 import com.example.speakbook_backend.converter.AudioConverter;
 import com.example.speakbook_backend.dto.AudioDTO;
 import com.example.speakbook_backend.dto.PageRequest;
 import com.example.speakbook_backend.dto.PageResponse;
+import com.example.speakbook_backend.dto.ResourceVersion;
 import com.example.speakbook_backend.entity.Audio;
+import com.example.speakbook_backend.entity.AudioPeaks;
+import com.example.speakbook_backend.repository.AudioBatchRepository;
 import com.example.speakbook_backend.repository.AudioRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,34 +31,96 @@ public class AudioServiceImpl implements AudioService {
     @Autowired
     private AudioRepository audioRepository;
 
+    @Autowired
+    private AudioBatchRepository audioBatchRepository;
+
     @Autowired
     private AudioConverter audioConverter;
 
+    @Autowired
+    private ListingCountCache listingCountCache;
+
+    @Autowired
+    private AudioFileCache audioFileCache;
+
+    @Autowired
+    private AudioDerivativeService audioDerivativeService;
+
+    @Autowired
+    private AudioPeaksService audioPeaksService;
+
+    @Autowired
+    private BookService bookService;
+
     @Override
     @Transactional
     public Long createAudio(AudioDTO audioDTO) {
-        // 驗證必填欄位
-        if (audioDTO.getName() == null || audioDTO.getName().trim().isEmpty()) {
-            throw new IllegalArgumentException("音訊名稱不能為空");
-        }
-        if (audioDTO.getUrl() == null || audioDTO.getUrl().trim().isEmpty()) {
-            throw new IllegalArgumentException("音訊URL不能為空");
-        }
+        validateAudioDTO(audioDTO);
 
         Audio audio = audioConverter.toEntity(audioDTO);
         audio.setId(null); // 確保是新建
         Audio savedAudio = audioRepository.save(audio);
+        listingCountCache.adjust(ListingCountCache.ALL_AUDIOS, 1);
+        audioDerivativeService.scheduleDerivatives(savedAudio.getId(), savedAudio.getUrl());
         return savedAudio.getId();
     }
 
+    @Override
+    @Transactional
+    public List<AudioDTO> createAudios(List<AudioDTO> audioDTOs) {
+        List<Audio> audios = new ArrayList<>(audioDTOs.size());
+        for (AudioDTO audioDTO : audioDTOs) {
+            validateAudioDTO(audioDTO);
+            Audio audio = audioConverter.toEntity(audioDTO);
+            audio.setId(null); // 確保是新建
+            audios.add(audio);
+        }
+
+        audioBatchRepository.batchInsert(audios);
+        listingCountCache.adjust(ListingCountCache.ALL_AUDIOS, audios.size());
+        for (Audio audio : audios) {
+            audioDerivativeService.scheduleDerivatives(audio.getId(), audio.getUrl());
+        }
+        return audios.stream()
+                .map(audioConverter::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public List<AudioDTO> createAudios(List<AudioDTO> audioDTOs, List<AudioPeaks> peaks) {
+        List<AudioDTO> created = createAudios(audioDTOs);
+        List<AudioPeaks> toSave = new ArrayList<>();
+        for (int i = 0; i < created.size(); i++) {
+            AudioPeaks audioPeaks = peaks.get(i);
+            if (audioPeaks != null) {
+                audioPeaks.setAudioId(created.get(i).getId());
+                toSave.add(audioPeaks);
+            }
+        }
+        audioPeaksService.savePeaks(toSave);
+        return created;
+    }
+
     @Override
     @Transactional
     public Long updateAudio(Long id, AudioDTO audioDTO) {
         Audio audio = audioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("音訊不存在，ID: " + id));
 
+        String previousUrl = audio.getUrl();
         audioConverter.updateEntity(audio, audioDTO);
         Audio updatedAudio = audioRepository.save(audio);
+
+        // 更換音訊來源時舊的衍生版本與波形失效
+        boolean urlChanged = !Objects.equals(previousUrl, updatedAudio.getUrl());
+        if (urlChanged) {
+            audioDerivativeService.deleteDerivatives(id);
+            audioDerivativeService.scheduleDerivatives(id, updatedAudio.getUrl());
+            audioPeaksService.deletePeaks(id);
+        }
+        // 教材詳情內嵌音訊資訊
+        bookService.onAudioChanged(id, urlChanged ? updatedAudio.getUrl() : null);
         return updatedAudio.getId();
     }
 
@@ -57,7 +129,16 @@ public class AudioServiceImpl implements AudioService {
     public AudioDTO getAudioById(Long id) {
         Audio audio = audioRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("音訊不存在，ID: " + id));
-        return audioConverter.toDTO(audio);
+        AudioDTO dto = audioConverter.toDTO(audio);
+        dto.setVariants(audioDerivativeService.getVariants(id));
+        return dto;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getAudioVersion(Long id) {
+        return audioRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("音訊不存在，ID: " + id));
     }
 
     @Override
@@ -84,7 +165,12 @@ public class AudioServiceImpl implements AudioService {
         if (!audioRepository.existsById(id)) {
             throw new RuntimeException("音訊不存在，ID: " + id);
         }
+        audioDerivativeService.deleteDerivatives(id);
+        audioPeaksService.deletePeaks(id);
+        // 刪除後熱區的 audio_id 由外鍵設為 null，須在刪除前找出引用的教材
+        bookService.onAudioChanged(id, null);
         audioRepository.deleteById(id);
+        listingCountCache.adjust(ListingCountCache.ALL_AUDIOS, -1);
     }
 
     @Override
@@ -110,13 +196,34 @@ public class AudioServiceImpl implements AudioService {
                 );
 
         // 查詢資料
-        Page<Audio> audioPage;
-        if (pageRequest.getSearchKeyword() != null && !pageRequest.getSearchKeyword().trim().isEmpty()) {
-            audioPage = audioRepository.findByKeyword(pageRequest.getSearchKeyword(), springPageRequest);
-        } else {
-            audioPage = audioRepository.findAll(springPageRequest);
+        boolean hasKeyword = pageRequest.getSearchKeyword() != null && !pageRequest.getSearchKeyword().trim().isEmpty();
+        if (pageRequest.isSlice()) {
+            // 不計算總數，只判斷是否有下一頁
+            Slice<Audio> audioSlice = hasKeyword
+                    ? audioRepository.findSliceByKeyword(pageRequest.getSearchKeyword(), springPageRequest)
+                    : audioRepository.findAllAsSlice(springPageRequest);
+            List<AudioDTO> audioDTOs = audioSlice.getContent().stream()
+                    .map(audioConverter::toDTO)
+                    .collect(Collectors.toList());
+            return PageResponse.slice(audioDTOs, pageRequest.getPage(), pageRequest.getPageSize(), audioSlice.hasNext());
+        }
+
+        if (!hasKeyword) {
+            // 無關鍵字：總數取自計數快取，不執行 COUNT
+            Slice<Audio> audioSlice = audioRepository.findAllAsSlice(springPageRequest);
+            List<AudioDTO> audioDTOs = audioSlice.getContent().stream()
+                    .map(audioConverter::toDTO)
+                    .collect(Collectors.toList());
+            long totalElements = listingCountCache.get(ListingCountCache.ALL_AUDIOS, audioRepository::count);
+            PageResponse<AudioDTO> pageResponse = new PageResponse<>(
+                    audioDTOs, pageRequest.getPage(), pageRequest.getPageSize(), totalElements);
+            pageResponse.setHasNext(audioSlice.hasNext());
+            pageResponse.setLast(!audioSlice.hasNext());
+            return pageResponse;
         }
 
+        Page<Audio> audioPage = audioRepository.findByKeyword(pageRequest.getSearchKeyword(), springPageRequest);
+
         // 轉換為 DTO
         List<AudioDTO> audioDTOs = audioPage.getContent().stream()
                 .map(audioConverter::toDTO)
@@ -132,7 +239,38 @@ public class AudioServiceImpl implements AudioService {
         pageResponse.setLast(audioPage.isLast());
         pageResponse.setFirst(audioPage.isFirst());
         pageResponse.setEmpty(audioPage.isEmpty());
+        pageResponse.setHasNext(audioPage.hasNext());
 
         return pageResponse;
     }
+
+    @Override
+    public Path getAudioFile(String url) {
+        if (url == null || url.trim().isEmpty()) {
+            throw new RuntimeException("音訊沒有可用的URL");
+        }
+        return audioFileCache.get(url);
+    }
+
+    @Override
+    public void recordBytesServed(long bytes) {
+        audioFileCache.recordBytesServed(bytes);
+    }
+
+    @Override
+    public AudioFileCacheStats getAudioFileCacheStats() {
+        return audioFileCache.getStats();
+    }
+
+    /**
+     * 驗證必填欄位
+     */
+    private void validateAudioDTO(AudioDTO audioDTO) {
+        if (audioDTO.getName() == null || audioDTO.getName().trim().isEmpty()) {
+            throw new IllegalArgumentException("音訊名稱不能為空");
+        }
+        if (audioDTO.getUrl() == null || audioDTO.getUrl().trim().isEmpty()) {
+            throw new IllegalArgumentException("音訊URL不能為空");
+        }
+    }
 }
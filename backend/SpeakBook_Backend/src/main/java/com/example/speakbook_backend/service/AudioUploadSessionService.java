@@ -0,0 +1,43 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioDTO;
+import com.example.speakbook_backend.dto.UploadSessionDTO;
+import com.example.speakbook_backend.dto.UploadSessionRequest;
+
+import java.io.InputStream;
+
+/**
+ * 音訊分段上傳（可續傳）
+ * 建立工作階段後以任意順序送出區段，斷線時查詢已收到的區段並只補送缺少的部分，
+ * 全部收齊後完成上傳，檔案交由一般的音訊建立流程處理
+ */
+public interface AudioUploadSessionService {
+
+    /**
+     * 建立上傳工作階段
+     * 未完成的工作階段數超過全域或單一來源位址的上限時拋出 IllegalStateException
+     * @param clientAddress 用戶端來源位址
+     */
+    UploadSessionDTO createSession(UploadSessionRequest request, String clientAddress);
+
+    /**
+     * 寫入從 offset 開始的區段，回傳最新狀態
+     * @param length 區段長度（Content-Length），未知時為 -1
+     */
+    UploadSessionDTO writeChunk(String sessionId, long offset, InputStream content, long length) throws Exception;
+
+    /**
+     * 查詢工作階段與已收到的區段
+     */
+    UploadSessionDTO getSession(String sessionId);
+
+    /**
+     * 完成上傳並建立音訊，尚有缺少的區段時拋出例外
+     */
+    AudioDTO complete(String sessionId) throws Exception;
+
+    /**
+     * 放棄上傳並刪除暫存檔
+     */
+    void abort(String sessionId);
+}
@@ -0,0 +1,368 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.AudioDTO;
+import com.example.speakbook_backend.dto.UploadSessionDTO;
+import com.example.speakbook_backend.dto.UploadSessionRequest;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 音訊分段上傳
+ * 每個工作階段對應一個暫存檔，區段以 FileChannel 的位置寫入直接放到最終位置，
+ * 收齊後的暫存檔就是完整檔案，不需要再合併或複製
+ * 工作階段狀態保存在記憶體，服務重啟時會清除未完成的暫存檔
+ * 暫存檔只在寫入區段時開啟，閒置的工作階段不佔用檔案描述元；
+ * 同時存在的工作階段數有全域與單一來源位址的上限，限制可佔用的磁碟空間
+ */
+@Service
+public class AudioUploadSessionServiceImpl implements AudioUploadSessionService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String SUFFIX = ".part";
+
+    @Autowired
+    private AudioIngestService audioIngestService;
+
+    private final Path directory;
+    private final int maxChunkSize;
+    private final long ttlMs;
+    private final int maxSessions;
+    private final int maxSessionsPerClient;
+
+    private final Map<String, UploadSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public AudioUploadSessionServiceImpl(
+            @Value("${speakbook.upload.sessions.dir:${java.io.tmpdir}/speakbook/upload-sessions}") String directory,
+            @Value("${speakbook.upload.sessions.max-chunk-bytes:8388608}") int maxChunkSize,
+            @Value("${speakbook.upload.sessions.ttl-ms:86400000}") long ttlMs,
+            @Value("${speakbook.upload.sessions.max-open:100}") int maxSessions,
+            @Value("${speakbook.upload.sessions.max-per-client:5}") int maxSessionsPerClient) throws IOException {
+        this.directory = Paths.get(directory);
+        this.maxChunkSize = Math.max(BUFFER_SIZE, maxChunkSize);
+        this.ttlMs = ttlMs;
+        this.maxSessions = Math.max(1, maxSessions);
+        this.maxSessionsPerClient = Math.max(1, maxSessionsPerClient);
+        Files.createDirectories(this.directory);
+        deleteLeftovers();
+
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "upload-session-cleaner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1000, Math.min(ttlMs, 600000));
+        this.scheduler.scheduleWithFixedDelay(this::purgeExpired, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (UploadSession session : sessions.values()) {
+            deleteQuietly(session);
+        }
+    }
+
+    @Override
+    public UploadSessionDTO createSession(UploadSessionRequest request, String clientAddress) {
+        if (request.getFileName() == null || request.getFileName().trim().isEmpty()) {
+            throw new IllegalArgumentException("檔名不能為空");
+        }
+        if (request.getFileSize() == null || request.getFileSize() <= 0) {
+            throw new IllegalArgumentException("檔案大小必須大於 0");
+        }
+        // 與 POST /api/audios/upload 相同的類型與大小限制
+        audioIngestService.validate(request.getContentType(), request.getFileSize());
+
+        String id = UUID.randomUUID().toString();
+        UploadSession session = new UploadSession(id, directory.resolve(id + SUFFIX), request, clientAddress);
+        // 檢查上限與加入需一起完成，並行建立時不會超過上限
+        synchronized (sessions) {
+            if (sessions.size() >= maxSessions) {
+                throw new IllegalStateException("伺服器上傳工作階段已滿，請稍後再試");
+            }
+            int owned = 0;
+            for (UploadSession existing : sessions.values()) {
+                if (existing.clientAddress.equals(clientAddress)) {
+                    owned++;
+                }
+            }
+            if (owned >= maxSessionsPerClient) {
+                throw new IllegalStateException("未完成的上傳過多，請先完成或取消既有的上傳");
+            }
+            try {
+                Files.createFile(session.file);
+            } catch (IOException e) {
+                throw new RuntimeException("建立上傳暫存檔失敗：" + e.getMessage(), e);
+            }
+            sessions.put(id, session);
+        }
+        return toDTO(session);
+    }
+
+    @Override
+    public UploadSessionDTO writeChunk(String sessionId, long offset, InputStream content, long length)
+            throws Exception {
+        UploadSession session = findSession(sessionId);
+        long fileSize = session.request.getFileSize();
+        if (offset < 0 || offset >= fileSize) {
+            throw new IllegalArgumentException("無效的區段位置：" + offset);
+        }
+        long limit = Math.min(maxChunkSize, fileSize - offset);
+        if (length > limit) {
+            throw new IllegalArgumentException("區段超出檔案範圍或大於 " + maxChunkSize + " 字節");
+        }
+
+        synchronized (session) {
+            if (session.closed) {
+                throw new RuntimeException("上傳工作階段不存在，ID: " + sessionId);
+            }
+            if (session.completing) {
+                throw new IllegalStateException("上傳已在完成中");
+            }
+            session.activeWrites++;
+            session.touch();
+        }
+
+        long written = 0;
+        // 每次寫入各自開啟暫存檔，關閉前寫入磁碟，完成時不需要再 force
+        try (FileChannel channel = FileChannel.open(session.file, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            int n;
+            while ((n = content.read(buffer.array(), 0, (int) Math.min(BUFFER_SIZE, limit - written + 1))) != -1) {
+                if (written + n > limit) {
+                    throw new IllegalArgumentException("區段超出檔案範圍或大於 " + maxChunkSize + " 字節");
+                }
+                buffer.clear().limit(n);
+                // 位置寫入，不同區段可並行寫入同一個檔案
+                while (buffer.hasRemaining()) {
+                    written += channel.write(buffer, offset + written);
+                }
+            }
+            channel.force(false);
+        } finally {
+            // 連線中斷時已寫入的部分仍然記錄，續傳時只需補送其餘位元組
+            boolean deleteNow;
+            synchronized (session) {
+                if (written > 0) {
+                    session.addRange(offset, offset + written - 1);
+                }
+                session.activeWrites--;
+                session.touch();
+                // 工作階段在寫入期間被取消或過期，由最後一個寫入者刪除暫存檔
+                deleteNow = session.closed && session.activeWrites == 0;
+            }
+            if (deleteNow) {
+                deleteQuietly(session);
+            }
+        }
+        return toDTO(session);
+    }
+
+    @Override
+    public UploadSessionDTO getSession(String sessionId) {
+        return toDTO(findSession(sessionId));
+    }
+
+    @Override
+    public AudioDTO complete(String sessionId) throws Exception {
+        UploadSession session = findSession(sessionId);
+        long fileSize = session.request.getFileSize();
+        synchronized (session) {
+            if (session.closed) {
+                throw new RuntimeException("上傳工作階段不存在，ID: " + sessionId);
+            }
+            if (session.completing) {
+                throw new IllegalStateException("上傳已在完成中");
+            }
+            if (session.activeWrites > 0) {
+                throw new IllegalStateException("仍有區段正在寫入");
+            }
+            if (session.receivedBytes() != fileSize) {
+                throw new IllegalStateException("尚有未收到的區段，已收到 " + session.receivedBytes() + " / " + fileSize + " 字節");
+            }
+            session.completing = true;
+        }
+
+        try {
+            // 與 POST /api/audios/upload 相同的建立流程
+            UploadSessionRequest request = session.request;
+            AudioDTO created = audioIngestService.ingest(session.file, request.getFileName(),
+                    request.getContentType(), request.getName(), request.getCategory());
+            sessions.remove(sessionId);
+            deleteQuietly(session);
+            return created;
+        } catch (Exception e) {
+            // 允許重新完成（例如儲存後端暫時無法連線）
+            synchronized (session) {
+                session.completing = false;
+                session.touch();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 取消工作階段；仍有區段正在寫入時延後到最後一個寫入結束再刪除暫存檔
+     */
+    @Override
+    public void abort(String sessionId) {
+        UploadSession session = findSession(sessionId);
+        boolean deleteNow;
+        synchronized (session) {
+            if (session.completing) {
+                throw new IllegalStateException("上傳已在完成中");
+            }
+            sessions.remove(sessionId);
+            session.closed = true;
+            deleteNow = session.activeWrites == 0;
+        }
+        if (deleteNow) {
+            deleteQuietly(session);
+        }
+    }
+
+    private UploadSession findSession(String sessionId) {
+        UploadSession session = sessions.get(sessionId);
+        if (session == null) {
+            throw new RuntimeException("上傳工作階段不存在，ID: " + sessionId);
+        }
+        return session;
+    }
+
+    private UploadSessionDTO toDTO(UploadSession session) {
+        UploadSessionDTO dto = new UploadSessionDTO();
+        dto.setId(session.id);
+        dto.setFileName(session.request.getFileName());
+        dto.setContentType(session.request.getContentType());
+        dto.setFileSize(session.request.getFileSize());
+        dto.setMaxChunkSize(maxChunkSize);
+        synchronized (session) {
+            dto.setReceivedBytes(session.receivedBytes());
+            dto.setReceivedRanges(session.ranges());
+            dto.setExpiresAt(LocalDateTime.ofInstant(
+                    Instant.ofEpochMilli(session.lastActivityMillis + ttlMs), ZoneId.systemDefault()));
+        }
+        return dto;
+    }
+
+    private void purgeExpired() {
+        long cutoff = System.currentTimeMillis() - ttlMs;
+        for (UploadSession session : sessions.values()) {
+            synchronized (session) {
+                if (session.completing || session.activeWrites > 0 || session.lastActivityMillis >= cutoff) {
+                    continue;
+                }
+                // 已取得工作階段但尚未開始寫入的請求會被拒絕，不會寫入已刪除的暫存檔
+                sessions.remove(session.id);
+                session.closed = true;
+            }
+            deleteQuietly(session);
+        }
+    }
+
+    /**
+     * 工作階段只保存在記憶體，啟動時刪除上次遺留的暫存檔
+     */
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void deleteQuietly(UploadSession session) {
+        try {
+            Files.deleteIfExists(session.file);
+        } catch (IOException ignored) {
+            // 暫存檔會在下次啟動時清除
+        }
+    }
+
+    /**
+     * 工作階段；區段清單與計數以工作階段物件本身同步
+     */
+    private static final class UploadSession {
+        private final String id;
+        private final Path file;
+        private final UploadSessionRequest request;
+        private final String clientAddress;
+
+        // 已收到的區段，start -> end（含 end），保持合併後不重疊
+        private final TreeMap<Long, Long> received = new TreeMap<>();
+        private int activeWrites;
+        private boolean completing;
+        // 已取消或過期，拒絕新的寫入；仍在寫入時由最後一個寫入者刪除暫存檔
+        private boolean closed;
+        private long lastActivityMillis = System.currentTimeMillis();
+
+        private UploadSession(String id, Path file, UploadSessionRequest request, String clientAddress) {
+            this.id = id;
+            this.file = file;
+            this.request = request;
+            this.clientAddress = clientAddress;
+        }
+
+        private void touch() {
+            lastActivityMillis = System.currentTimeMillis();
+        }
+
+        /**
+         * 加入區段並與相鄰或重疊的區段合併
+         */
+        private void addRange(long start, long end) {
+            Map.Entry<Long, Long> floor = received.floorEntry(start);
+            if (floor != null && floor.getValue() >= start - 1) {
+                start = floor.getKey();
+                end = Math.max(end, floor.getValue());
+            }
+            Map.Entry<Long, Long> next = received.ceilingEntry(start);
+            while (next != null && next.getKey() <= end + 1) {
+                end = Math.max(end, next.getValue());
+                received.remove(next.getKey());
+                next = received.ceilingEntry(start);
+            }
+            received.put(start, end);
+        }
+
+        private long receivedBytes() {
+            long total = 0;
+            for (Map.Entry<Long, Long> range : received.entrySet()) {
+                total += range.getValue() - range.getKey() + 1;
+            }
+            return total;
+        }
+
+        private List<long[]> ranges() {
+            List<long[]> ranges = new ArrayList<>(received.size());
+            for (Map.Entry<Long, Long> range : received.entrySet()) {
+                ranges.add(new long[]{range.getKey(), range.getValue()});
+            }
+            return ranges;
+        }
+    }
+}
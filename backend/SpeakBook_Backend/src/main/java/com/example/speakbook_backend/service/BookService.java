@@ -1,9 +1,17 @@
 package com.example.speakbook_backend.service;
 
+import com.example.speakbook_backend.cache.CacheStats;
 import com.example.speakbook_backend.dto.BookDTO;
+import com.example.speakbook_backend.dto.BookPageDTO;
+import com.example.speakbook_backend.dto.HotspotChangeSummary;
+import com.example.speakbook_backend.dto.HotspotDTO;
 import com.example.speakbook_backend.dto.PageRequest;
 import com.example.speakbook_backend.dto.PageResponse;
+import com.example.speakbook_backend.dto.ResourceVersion;
 
+import com.example.speakbook_backend.media.AudioBundle;
+
+import java.io.IOException;
 import java.util.List;
 
 public interface BookService {
@@ -19,25 +27,68 @@ public interface BookService {
     Long saveDraft(BookDTO bookDTO);
 
     /**
-     * 更新教材
+     * 更新教材，回傳熱區異動統計
      */
-    Long updateBook(Long id, BookDTO bookDTO);
+    HotspotChangeSummary updateBook(Long id, BookDTO bookDTO);
 
     /**
      * 獲取教材詳情
      */
     BookDTO getBookById(Long id);
 
+    /**
+     * 音訊異動後同步引用它的教材：更新熱區 URL（audioUrl 不為 null 時）、遞增教材版本並清除快取
+     */
+    void onAudioChanged(Long audioId, String audioUrl);
+
+    /**
+     * 封面圖片的衍生版本產生後，遞增使用該封面的教材版本並清除快取
+     */
+    void onCoverImageChanged(String coverImageUrl);
+
+    /**
+     * 查詢第 page 頁座標 (x, y) 命中的熱區，未命中時回傳 null
+     */
+    HotspotDTO findHotspotAt(Long bookId, int page, int x, int y);
+
+    /**
+     * 建立教材音訊包：熱區連結（audioId）的已登錄音訊依頁碼、排序順序排列，並附清單；只有外部 URL 的熱區不收錄
+     * 音訊從本機快取提供，未快取時先下載；呼叫端負責關閉
+     */
+    AudioBundle getAudioBundle(Long bookId) throws IOException;
+
+    /**
+     * 獲取教材指定頁碼範圍（含首尾）的熱區，依頁分組
+     */
+    List<BookPageDTO> getBookPages(Long bookId, int fromPage, int toPage);
+
+    /**
+     * 獲取教材版本資訊（不載入熱區），用於條件式 GET
+     */
+    ResourceVersion getBookVersion(Long id);
+
     /**
      * 獲取所有已發布的教材
      */
     List<BookDTO> getAllPublishedBooks();
 
+    /**
+     * 獲取所有已發布的教材
+     * @param summary 為 true 時不含熱區
+     */
+    List<BookDTO> getAllPublishedBooks(boolean summary);
+
     /**
      * 根據分類獲取教材
      */
     List<BookDTO> getBooksByCategory(String category);
 
+    /**
+     * 根據分類獲取教材
+     * @param summary 為 true 時不含熱區
+     */
+    List<BookDTO> getBooksByCategory(String category, boolean summary);
+
     /**
      * 刪除教材
      */
@@ -47,4 +98,14 @@ public interface BookService {
      * 分頁查詢已發布的教材
      */
     PageResponse<BookDTO> getPublishedBooksWithPagination(PageRequest pageRequest);
+
+    /**
+     * 獲取教材詳情快取統計
+     */
+    CacheStats getBookCacheStats();
+
+    /**
+     * 獲取熱區空間索引快取統計
+     */
+    CacheStats getHotspotIndexStats();
 }
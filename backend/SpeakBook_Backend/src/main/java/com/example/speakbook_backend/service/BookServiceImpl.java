@@ -1,31 +1,118 @@
 package com.example.speakbook_backend.service;
 
+import com.example.speakbook_backend.cache.AudioFileCache;
+import com.example.speakbook_backend.cache.BookDetailCache;
+import com.example.speakbook_backend.cache.BookResponseCache;
+import com.example.speakbook_backend.cache.CacheStats;
+import com.example.speakbook_backend.cache.ListingCountCache;
+import com.example.speakbook_backend.converter.AudioConverter;
 import com.example.speakbook_backend.converter.BookConverter;
+import com.example.speakbook_backend.dto.AudioBundleEntry;
+import com.example.speakbook_backend.dto.AudioBundleManifest;
+import com.example.speakbook_backend.dto.AudioDTO;
 import com.example.speakbook_backend.dto.BookDTO;
+import com.example.speakbook_backend.dto.BookPageDTO;
+import com.example.speakbook_backend.dto.HotspotChangeSummary;
+import com.example.speakbook_backend.dto.HotspotDTO;
+import com.example.speakbook_backend.dto.PageCursor;
 import com.example.speakbook_backend.dto.PageRequest;
 import com.example.speakbook_backend.dto.PageResponse;
+import com.example.speakbook_backend.dto.ResourceVersion;
+import com.example.speakbook_backend.entity.Audio;
 import com.example.speakbook_backend.entity.Book;
+import com.example.speakbook_backend.entity.Hotspot;
+import com.example.speakbook_backend.entity.ImageVariant;
+import com.example.speakbook_backend.entity.UploadedFile;
+import com.example.speakbook_backend.media.AudioBundle;
+import com.example.speakbook_backend.repository.AudioRepository;
 import com.example.speakbook_backend.repository.BookRepository;
+import com.example.speakbook_backend.repository.HotspotBatchRepository;
 import com.example.speakbook_backend.repository.HotspotRepository;
+import com.example.speakbook_backend.repository.ImageVariantRepository;
+import com.example.speakbook_backend.repository.UploadedFileRepository;
+import com.example.speakbook_backend.search.BookSearchIndex;
+import com.example.speakbook_backend.search.HotspotSpatialIndex;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class BookServiceImpl implements BookService {
 
+    // 單次分頁預取的最大頁數
+    private static final int MAX_PAGE_RANGE = 20;
+
     @Autowired
     private BookRepository bookRepository;
 
     @Autowired
     private HotspotRepository hotspotRepository;
 
+    @Autowired
+    private HotspotBatchRepository hotspotBatchRepository;
+
+    @Autowired
+    private AudioRepository audioRepository;
+
+    @Autowired
+    private AudioConverter audioConverter;
+
+    @Autowired
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Autowired
+    private ImageVariantRepository imageVariantRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private BookDetailCache bookDetailCache;
+
+    @Autowired
+    private BookResponseCache bookResponseCache;
+
+    @Autowired
+    private BookSearchIndex bookSearchIndex;
+
+    @Autowired
+    private HotspotSpatialIndex hotspotSpatialIndex;
+
+    @Autowired
+    private ListingCountCache listingCountCache;
+
+    @Autowired
+    private AudioFileCache audioFileCache;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${speakbook.search.index.enabled:true}")
+    private boolean searchIndexEnabled;
+
     @Override
     @Transactional
     public Long createBook(BookDTO bookDTO) {
@@ -36,9 +123,22 @@ public class BookServiceImpl implements BookService {
         bookDTO.setStatus("published");
         bookDTO.setPublishedAt(LocalDateTime.now());
 
+        // 帶 ID 時會覆蓋既有教材，無法得知原狀態，直接使計數失效
+        boolean isNew = bookDTO.getId() == null;
+
         // 轉換並保存
         Book book = BookConverter.convertToEntity(bookDTO);
+        resolveHotspotAudioIds(book.getHotspots());
         Book savedBook = bookRepository.save(book);
+        bookDetailCache.evict(savedBook.getId());
+        bookResponseCache.evict(savedBook.getId());
+        hotspotSpatialIndex.evict(savedBook.getId());
+        bookSearchIndex.index(savedBook);
+        if (isNew) {
+            listingCountCache.adjust(ListingCountCache.PUBLISHED_BOOKS, 1);
+        } else {
+            listingCountCache.invalidate(ListingCountCache.PUBLISHED_BOOKS);
+        }
 
         return savedBook.getId();
     }
@@ -49,22 +149,30 @@ public class BookServiceImpl implements BookService {
         // 設置狀態為草稿
         bookDTO.setStatus("draft");
 
+        // 覆蓋既有教材時可能由已發布改為草稿
+        if (bookDTO.getId() != null) {
+            listingCountCache.invalidate(ListingCountCache.PUBLISHED_BOOKS);
+        }
+
         // 轉換並保存
         Book book = BookConverter.convertToEntity(bookDTO);
+        resolveHotspotAudioIds(book.getHotspots());
         Book savedBook = bookRepository.save(book);
+        bookDetailCache.evict(savedBook.getId());
+        bookResponseCache.evict(savedBook.getId());
+        hotspotSpatialIndex.evict(savedBook.getId());
+        bookSearchIndex.index(savedBook);
 
         return savedBook.getId();
     }
 
     @Override
     @Transactional
-    public Long updateBook(Long id, BookDTO bookDTO) {
+    public HotspotChangeSummary updateBook(Long id, BookDTO bookDTO) {
         // 查找現有教材
         Book existingBook = bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("教材不存在，ID: " + id));
-
-        // 刪除舊的熱區
-        hotspotRepository.deleteByBookId(id);
+        boolean wasPublished = "published".equals(existingBook.getStatus());
 
         // 更新教材信息
         existingBook.setTitle(bookDTO.getTitle());
@@ -76,50 +184,366 @@ public class BookServiceImpl implements BookService {
         existingBook.setDifficulty(bookDTO.getDifficulty());
         existingBook.setCoverImageUrl(bookDTO.getCoverImageUrl());
         existingBook.setStatus(bookDTO.getStatus());
+        // 只修改熱區時教材本身不會變髒，主動更新時間以觸發 @PreUpdate 遞增版本
+        existingBook.setUpdatedAt(LocalDateTime.now());
 
         // 如果狀態改為已發布，設置發布時間
         if ("published".equals(bookDTO.getStatus()) && existingBook.getPublishedAt() == null) {
             existingBook.setPublishedAt(LocalDateTime.now());
         }
 
-        // 清空舊的熱區列表
-        existingBook.getHotspots().clear();
+        // 依 ID 比對熱區，只寫入有異動的部分
+        HotspotChangeSummary changes = applyHotspotChanges(existingBook, bookDTO.getHotspots());
 
-        // 添加新的熱區
-        if (bookDTO.getHotspots() != null) {
-            bookDTO.getHotspots().forEach(hotspotDTO -> {
-                existingBook.addHotspot(BookConverter.convertHotspotToEntity(hotspotDTO));
-            });
+        // 保存更新
+        Book updatedBook = bookRepository.saveAndFlush(existingBook);
+        // 熱區已由 JDBC 直接寫入，分離實體讓後續讀取重新載入
+        entityManager.detach(updatedBook);
+
+        bookDetailCache.evict(id);
+        bookResponseCache.evict(id);
+        hotspotSpatialIndex.evict(id);
+        bookSearchIndex.index(updatedBook);
+        boolean isPublished = "published".equals(updatedBook.getStatus());
+        if (wasPublished != isPublished) {
+            listingCountCache.adjust(ListingCountCache.PUBLISHED_BOOKS, isPublished ? 1 : -1);
         }
 
-        // 保存更新
-        Book updatedBook = bookRepository.save(existingBook);
+        return changes;
+    }
+
+    /**
+     * 比對現有與傳入的熱區，批次執行新增、修改、刪除
+     * 傳入的熱區帶有本教材既有的 ID 時視為修改，否則視為新增；未出現的既有熱區刪除
+     */
+    private HotspotChangeSummary applyHotspotChanges(Book book, List<HotspotDTO> incoming) {
+        Map<Long, Hotspot> existingById = new HashMap<>();
+        for (Hotspot hotspot : book.getHotspots()) {
+            existingById.put(hotspot.getId(), hotspot);
+        }
+
+        List<Hotspot> hotspots = new ArrayList<>();
+        if (incoming != null) {
+            for (HotspotDTO hotspotDTO : incoming) {
+                hotspots.add(BookConverter.convertHotspotToEntity(hotspotDTO));
+            }
+        }
+        // 先補上音訊 ID 再比對，未修改的熱區不會因為 ID 補齊而被視為異動
+        resolveHotspotAudioIds(hotspots);
+
+        List<Hotspot> toInsert = new ArrayList<>();
+        List<Hotspot> toUpdate = new ArrayList<>();
+        int unchanged = 0;
+        for (Hotspot hotspot : hotspots) {
+            Hotspot existing = hotspot.getId() != null ? existingById.remove(hotspot.getId()) : null;
+            if (existing == null) {
+                toInsert.add(hotspot);
+            } else if (BookConverter.isSameHotspot(existing, hotspot)) {
+                unchanged++;
+            } else {
+                toUpdate.add(hotspot);
+            }
+        }
+        // 剩下的既有熱區未出現在請求中
+        Set<Long> toDelete = existingById.keySet();
+
+        hotspotBatchRepository.batchDelete(book.getId(), toDelete);
+        hotspotBatchRepository.batchUpdate(book.getId(), toUpdate);
+        hotspotBatchRepository.batchInsert(book.getId(), toInsert);
+
+        return new HotspotChangeSummary(toInsert.size(), toUpdate.size(), toDelete.size(), unchanged);
+    }
 
-        return updatedBook.getId();
+    /**
+     * 熱區只帶 URL 時，以單一 IN 查詢找出對應的音訊並補上 ID
+     * 同一 URL 有多筆音訊時取 ID 最小者，與遷移時的回填規則一致
+     */
+    private void resolveHotspotAudioIds(List<Hotspot> hotspots) {
+        Set<String> urls = new HashSet<>();
+        for (Hotspot hotspot : hotspots) {
+            if (hotspot.getAudioId() == null && hotspot.getAudioUrl() != null && !hotspot.getAudioUrl().trim().isEmpty()) {
+                urls.add(hotspot.getAudioUrl());
+            }
+        }
+        if (urls.isEmpty()) {
+            return;
+        }
+
+        Map<String, Long> audioIdByUrl = new HashMap<>();
+        for (Audio audio : audioRepository.findByUrlIn(urls)) {
+            audioIdByUrl.merge(audio.getUrl(), audio.getId(), Math::min);
+        }
+        for (Hotspot hotspot : hotspots) {
+            if (hotspot.getAudioId() == null && hotspot.getAudioUrl() != null) {
+                hotspot.setAudioId(audioIdByUrl.get(hotspot.getAudioUrl()));
+            }
+        }
+    }
+
+    /**
+     * 附加熱區的音訊資訊，所有熱區的音訊以單一 IN 查詢載入
+     */
+    private void attachHotspotAudio(List<HotspotDTO> hotspots) {
+        Set<Long> audioIds = new HashSet<>();
+        for (HotspotDTO hotspot : hotspots) {
+            if (hotspot.getAudioId() != null) {
+                audioIds.add(hotspot.getAudioId());
+            }
+        }
+        if (audioIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, AudioDTO> audioById = audioRepository.findAllById(audioIds).stream()
+                .map(audioConverter::toDTO)
+                .collect(Collectors.toMap(AudioDTO::getId, Function.identity()));
+        for (HotspotDTO hotspot : hotspots) {
+            if (hotspot.getAudioId() != null) {
+                hotspot.setAudio(audioById.get(hotspot.getAudioId()));
+            }
+        }
+    }
+
+    /**
+     * 附加封面的縮圖與中等尺寸 URL
+     * 封面 URL 先對應到上傳紀錄的內容雜湊，再以雜湊查詢衍生版本，整頁教材共兩次 IN 查詢
+     */
+    private void attachCoverVariants(List<BookDTO> books) {
+        Set<String> coverUrls = new HashSet<>();
+        for (BookDTO book : books) {
+            if (book.getCoverImageUrl() != null) {
+                coverUrls.add(book.getCoverImageUrl());
+            }
+        }
+        if (coverUrls.isEmpty()) {
+            return;
+        }
+
+        // 同一內容可能以不同供應商上傳而有多個 URL，每個封面 URL 都要附加衍生版本
+        Map<String, List<String>> urlsByHash = new HashMap<>();
+        for (UploadedFile uploaded : uploadedFileRepository.findByUrlIn(coverUrls)) {
+            urlsByHash.computeIfAbsent(uploaded.getContentHash(), hash -> new ArrayList<>()).add(uploaded.getUrl());
+        }
+        if (urlsByHash.isEmpty()) {
+            return;
+        }
+
+        // 封面 URL -> (版本 -> URL)
+        Map<String, Map<String, String>> variantsByCover = new HashMap<>();
+        for (ImageVariant variant : imageVariantRepository.findBySourceHashIn(urlsByHash.keySet())) {
+            for (String coverUrl : urlsByHash.get(variant.getSourceHash())) {
+                variantsByCover.computeIfAbsent(coverUrl, url -> new HashMap<>())
+                        .put(variant.getVariant(), variant.getUrl());
+            }
+        }
+        for (BookDTO book : books) {
+            Map<String, String> variants = variantsByCover.get(book.getCoverImageUrl());
+            if (variants != null) {
+                book.setCoverThumbnailUrl(variants.get(ImageDerivativeService.VARIANT_THUMBNAIL));
+                book.setCoverMediumUrl(variants.get(ImageDerivativeService.VARIANT_MEDIUM));
+            }
+        }
     }
 
     @Override
     public BookDTO getBookById(Long id) {
+        return bookDetailCache.get(id, this::loadBookById);
+    }
+
+    @Override
+    @Transactional
+    public void onAudioChanged(Long audioId, String audioUrl) {
+        List<Long> bookIds = hotspotRepository.findBookIdsByAudioId(audioId);
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        if (audioUrl != null) {
+            hotspotRepository.updateAudioUrlByAudioId(audioId, audioUrl);
+        }
+        // 教材詳情內嵌音訊資訊，需遞增版本讓客戶端的 ETag 失效
+        bookRepository.incrementRevisions(bookIds, LocalDateTime.now());
+        for (Long bookId : bookIds) {
+            bookDetailCache.evict(bookId);
+            bookResponseCache.evict(bookId);
+            hotspotSpatialIndex.evict(bookId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void onCoverImageChanged(String coverImageUrl) {
+        List<Long> bookIds = bookRepository.findIdsByCoverImageUrl(coverImageUrl);
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        bookRepository.incrementRevisions(bookIds, LocalDateTime.now());
+        for (Long bookId : bookIds) {
+            bookDetailCache.evict(bookId);
+            bookResponseCache.evict(bookId);
+        }
+    }
+
+    @Override
+    public HotspotDTO findHotspotAt(Long bookId, int page, int x, int y) {
+        return hotspotSpatialIndex.get(bookId, page, () -> getBookById(bookId)).hit(x, y);
+    }
+
+    @Override
+    public AudioBundle getAudioBundle(Long bookId) throws IOException {
+        BookDTO book = getBookById(bookId);
+        List<HotspotDTO> hotspots = new ArrayList<>(
+                book.getHotspots() != null ? book.getHotspots() : Collections.emptyList());
+        hotspots.sort(Comparator
+                .comparing((HotspotDTO h) -> h.getPage() != null ? h.getPage() : 1)
+                .thenComparing(h -> h.getSortOrder() != null ? h.getSortOrder() : 0));
+
+        // 只收錄已登錄的音訊（依熱區的 audioId），熱區上可任意設定的外部 URL 不由伺服器下載
+        Set<Long> audioIds = new HashSet<>();
+        for (HotspotDTO hotspot : hotspots) {
+            if (hotspot.getAudioId() != null) {
+                audioIds.add(hotspot.getAudioId());
+            }
+        }
+        Map<Long, Audio> audioById = audioIds.isEmpty()
+                ? Collections.emptyMap()
+                : audioRepository.findAllById(audioIds).stream()
+                        .collect(Collectors.toMap(Audio::getId, Function.identity()));
+
+        // 同一音訊被多個熱區引用時只收錄一次
+        Map<Long, AudioBundleEntry> entries = new LinkedHashMap<>();
+        for (HotspotDTO hotspot : hotspots) {
+            Audio audio = hotspot.getAudioId() != null ? audioById.get(hotspot.getAudioId()) : null;
+            if (audio == null || audio.getUrl() == null || audio.getUrl().trim().isEmpty()) {
+                continue;
+            }
+            AudioBundleEntry entry = entries.computeIfAbsent(audio.getId(), key -> {
+                AudioBundleEntry created = new AudioBundleEntry();
+                created.setUrl(audio.getUrl());
+                return created;
+            });
+            if (hotspot.getId() != null) {
+                entry.getHotspotIds().add(hotspot.getId());
+            }
+        }
+
+        // 每個檔案取得後立即開啟，後續下載觸發的快取淘汰不會刪掉尚未開啟的檔案
+        List<AudioBundleEntry> entryList = new ArrayList<>(entries.values());
+        List<FileChannel> channels = new ArrayList<>(entryList.size());
+        try {
+            for (int i = 0; i < entryList.size(); i++) {
+                AudioBundleEntry entry = entryList.get(i);
+                entry.setName(String.format("audio/%04d.%s", i + 1, extensionOf(entry.getUrl())));
+                channels.add(audioFileCache.open(entry.getUrl()));
+            }
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(channels);
+            throw e;
+        }
+
+        AudioBundleManifest manifest = new AudioBundleManifest();
+        manifest.setBookId(bookId);
+        manifest.setRevision(book.getRevision());
+        manifest.setEntries(entryList);
+        return AudioBundle.create(manifest, channels, objectMapper);
+    }
+
+    private static void closeQuietly(List<FileChannel> channels) {
+        for (FileChannel channel : channels) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // 唯讀檔案關閉失敗不影響結果
+            }
+        }
+    }
+
+    @Override
+    public List<BookPageDTO> getBookPages(Long bookId, int fromPage, int toPage) {
+        if (fromPage < 1 || toPage < fromPage) {
+            throw new IllegalArgumentException("無效的頁碼範圍：" + fromPage + " - " + toPage);
+        }
+        if (toPage - fromPage + 1 > MAX_PAGE_RANGE) {
+            throw new IllegalArgumentException("單次最多查詢 " + MAX_PAGE_RANGE + " 頁");
+        }
+
+        // 已快取的教材詳情直接切分，否則只查詢範圍內的熱區
+        List<HotspotDTO> hotspots;
+        BookDTO cached = bookDetailCache.peek(bookId);
+        if (cached != null) {
+            hotspots = new ArrayList<>();
+            List<HotspotDTO> all = cached.getHotspots() != null ? cached.getHotspots() : Collections.emptyList();
+            for (HotspotDTO hotspot : all) {
+                int page = hotspot.getPage() != null ? hotspot.getPage() : 1;
+                if (page >= fromPage && page <= toPage) {
+                    hotspots.add(hotspot);
+                }
+            }
+        } else {
+            if (!bookRepository.existsById(bookId)) {
+                throw new RuntimeException("教材不存在，ID: " + bookId);
+            }
+            hotspots = hotspotRepository.findByBookIdAndPageRange(bookId, fromPage, toPage).stream()
+                    .map(BookConverter::convertHotspotToDTO)
+                    .collect(Collectors.toList());
+            attachHotspotAudio(hotspots);
+        }
+
+        Map<Integer, List<HotspotDTO>> byPage = new HashMap<>();
+        for (HotspotDTO hotspot : hotspots) {
+            byPage.computeIfAbsent(hotspot.getPage(), k -> new ArrayList<>()).add(hotspot);
+        }
+
+        List<BookPageDTO> pages = new ArrayList<>(toPage - fromPage + 1);
+        for (int page = fromPage; page <= toPage; page++) {
+            pages.add(new BookPageDTO(page, byPage.getOrDefault(page, Collections.emptyList())));
+        }
+        return pages;
+    }
+
+    @Override
+    public ResourceVersion getBookVersion(Long id) {
+        // 已快取時直接使用快取內容，不查資料庫
+        BookDTO cached = bookDetailCache.peek(id);
+        if (cached != null) {
+            return new ResourceVersion(cached.getId(), cached.getRevision(), cached.getUpdatedAt());
+        }
+        return bookRepository.findVersionById(id)
+                .orElseThrow(() -> new RuntimeException("教材不存在，ID: " + id));
+    }
+
+    /**
+     * 從資料庫載入教材詳情（快取未命中時）
+     */
+    private BookDTO loadBookById(Long id) {
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("教材不存在，ID: " + id));
 
-        return BookConverter.convertToDTO(book);
+        BookDTO dto = BookConverter.convertToDTO(book);
+        attachHotspotAudio(dto.getHotspots() != null ? dto.getHotspots() : Collections.emptyList());
+        attachCoverVariants(List.of(dto));
+        return dto;
     }
 
     @Override
     public List<BookDTO> getAllPublishedBooks() {
+        return getAllPublishedBooks(false);
+    }
+
+    @Override
+    public List<BookDTO> getAllPublishedBooks(boolean summary) {
         List<Book> books = bookRepository.findByStatus("published");
-        return books.stream()
-                .map(BookConverter::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(books, summary);
     }
 
     @Override
     public List<BookDTO> getBooksByCategory(String category) {
+        return getBooksByCategory(category, false);
+    }
+
+    @Override
+    public List<BookDTO> getBooksByCategory(String category, boolean summary) {
         List<Book> books = bookRepository.findByStatusAndCategory("published", category);
-        return books.stream()
-                .map(BookConverter::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(books, summary);
     }
 
     @Override
@@ -129,16 +553,47 @@ public class BookServiceImpl implements BookService {
                 .orElseThrow(() -> new RuntimeException("教材不存在，ID: " + id));
 
         bookRepository.delete(book);
+        bookDetailCache.evict(id);
+        bookResponseCache.evict(id);
+        hotspotSpatialIndex.evict(id);
+        bookSearchIndex.remove(id);
+        if ("published".equals(book.getStatus())) {
+            listingCountCache.adjust(ListingCountCache.PUBLISHED_BOOKS, -1);
+        }
+    }
+
+    @Override
+    public CacheStats getBookCacheStats() {
+        return bookDetailCache.getStats();
+    }
+
+    @Override
+    public CacheStats getHotspotIndexStats() {
+        return hotspotSpatialIndex.getStats();
     }
 
     @Override
     public PageResponse<BookDTO> getPublishedBooksWithPagination(PageRequest pageRequest) {
-        // 建立排序規則
+        // 游標分頁僅支援依建立時間排序且無關鍵字的列表
+        if (pageRequest.isCursorMode() && isCursorSortable(pageRequest)) {
+            return getPublishedBooksWithCursor(pageRequest);
+        }
+
+        // 有關鍵字時由記憶體倒排索引處理；索引沒有的排序欄位（例如 author）改由資料庫查詢
+        boolean hasKeyword = pageRequest.getSearchKeyword() != null && !pageRequest.getSearchKeyword().trim().isEmpty();
+        if (hasKeyword && searchIndexEnabled && BookSearchIndex.supportsSort(pageRequest.getSortBy())) {
+            return searchPublishedBooks(pageRequest);
+        }
+
+        // 建立排序規則（相關度排序僅在索引搜尋時有效）
+        String sortBy = pageRequest.getSortBy() != null && !BookSearchIndex.SORT_RELEVANCE.equals(pageRequest.getSortBy())
+                ? pageRequest.getSortBy()
+                : "createdAt";
         Sort sort = Sort.by(
             "DESC".equalsIgnoreCase(pageRequest.getSortDirection()) 
                 ? Sort.Direction.DESC 
                 : Sort.Direction.ASC,
-            pageRequest.getSortBy() != null ? pageRequest.getSortBy() : "createdAt"
+            sortBy
         );
 
         // 建立 Spring 分頁請求
@@ -149,33 +604,203 @@ public class BookServiceImpl implements BookService {
         );
 
         // 執行查詢
-        Page<Book> bookPage;
-        if (pageRequest.getSearchKeyword() != null && !pageRequest.getSearchKeyword().trim().isEmpty()) {
-            // 有搜尋關鍵字
-            bookPage = bookRepository.findByStatusAndKeyword(
+        if (hasKeyword) {
+            // 有搜尋關鍵字（索引停用或排序不支援時）；slice 模式不執行 COUNT
+            if (pageRequest.isSlice()) {
+                Slice<Book> keywordSlice = bookRepository.findSliceByStatusAndKeyword(
+                    "published",
+                    pageRequest.getSearchKeyword().trim(),
+                    springPageRequest
+                );
+                return PageResponse.slice(convertToDTOs(keywordSlice.getContent(), pageRequest.isSummary()),
+                        pageRequest.getPage(), pageRequest.getPageSize(), keywordSlice.hasNext());
+            }
+            Page<Book> bookPage = bookRepository.findByStatusAndKeyword(
                 "published", 
                 pageRequest.getSearchKeyword().trim(), 
                 springPageRequest
             );
-        } else {
-            // 無搜尋關鍵字
-            bookPage = bookRepository.findByStatus("published", springPageRequest);
+            return new PageResponse<>(
+                convertToDTOs(bookPage.getContent(), pageRequest.isSummary()),
+                pageRequest.getPage(),
+                pageRequest.getPageSize(),
+                bookPage.getTotalElements()
+            );
         }
 
-        // 轉換為 DTO
-        List<BookDTO> bookDTOs = bookPage.getContent().stream()
-                .map(BookConverter::convertToDTO)
+        // 無搜尋關鍵字：以 Slice 查詢內容，總數取自計數快取，不執行 COUNT
+        Slice<Book> bookSlice = bookRepository.findSliceByStatus("published", springPageRequest);
+        List<BookDTO> bookDTOs = convertToDTOs(bookSlice.getContent(), pageRequest.isSummary());
+        if (pageRequest.isSlice()) {
+            return PageResponse.slice(bookDTOs, pageRequest.getPage(), pageRequest.getPageSize(), bookSlice.hasNext());
+        }
+
+        long totalElements = listingCountCache.get(ListingCountCache.PUBLISHED_BOOKS,
+                () -> bookRepository.countByStatus("published"));
+        PageResponse<BookDTO> pageResponse = new PageResponse<>(
+            bookDTOs,
+            pageRequest.getPage(),
+            pageRequest.getPageSize(),
+            totalElements
+        );
+        // 以實際查詢結果為準，避免計數快取誤差
+        pageResponse.setHasNext(bookSlice.hasNext());
+        pageResponse.setLast(!bookSlice.hasNext());
+        return pageResponse;
+    }
+
+    /**
+     * 以倒排索引搜尋已發布的教材，僅當頁的教材會從資料庫載入
+     */
+    private PageResponse<BookDTO> searchPublishedBooks(PageRequest pageRequest) {
+        BookSearchIndex.SearchResult result = bookSearchIndex.search(
+                pageRequest.getSearchKeyword(),
+                pageRequest.getSortBy(),
+                !"ASC".equalsIgnoreCase(pageRequest.getSortDirection()),
+                pageRequest.getOffset(),
+                pageRequest.getPageSize()
+        );
+
+        // 依索引排序結果重新排列
+        Map<Long, Book> booksById = bookRepository.findAllById(result.getIds()).stream()
+                .collect(Collectors.toMap(Book::getId, book -> book));
+        List<Book> books = result.getIds().stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
-        // 建立分頁響應
         return new PageResponse<>(
-            bookDTOs,
+            convertToDTOs(books, pageRequest.isSummary()),
             pageRequest.getPage(),
             pageRequest.getPageSize(),
-            bookPage.getTotalElements()
+            result.getTotal()
         );
     }
 
+    /**
+     * 游標分頁查詢已發布的教材
+     * 依 (status, created_at, id) 定位，每頁成本與頁數深度無關，也不執行 COUNT
+     */
+    private PageResponse<BookDTO> getPublishedBooksWithCursor(PageRequest pageRequest) {
+        int pageSize = pageRequest.getPageSize();
+        boolean descending = !"ASC".equalsIgnoreCase(pageRequest.getSortDirection());
+        PageCursor cursor = pageRequest.getCursor() != null ? PageCursor.decode(pageRequest.getCursor()) : null;
+
+        // 多取一筆以判斷是否還有更多資料
+        org.springframework.data.domain.PageRequest limit =
+                org.springframework.data.domain.PageRequest.of(0, pageSize + 1);
+
+        List<Book> books;
+        if (cursor == null) {
+            books = descending
+                    ? bookRepository.findByStatusOrderByCreatedAtDescIdDesc("published", limit)
+                    : bookRepository.findByStatusOrderByCreatedAtAscIdAsc("published", limit);
+        } else if (descending != cursor.isBackward()) {
+            // 新到舊的下一頁，或舊到新的上一頁
+            books = bookRepository.findByStatusBeforeCursor("published", cursor.getCreatedAt(), cursor.getId(), limit);
+        } else {
+            books = bookRepository.findByStatusAfterCursor("published", cursor.getCreatedAt(), cursor.getId(), limit);
+        }
+
+        boolean hasMore = books.size() > pageSize;
+        if (hasMore) {
+            books = books.subList(0, pageSize);
+        }
+        boolean backward = cursor != null && cursor.isBackward();
+        if (backward) {
+            // 往前翻頁時查詢順序與顯示順序相反
+            books = new ArrayList<>(books);
+            Collections.reverse(books);
+        }
+
+        PageResponse<BookDTO> pageResponse = new PageResponse<>();
+        pageResponse.setContent(convertToDTOs(books, pageRequest.isSummary()));
+        pageResponse.setPageSize(pageSize);
+        // 游標模式不計算總數
+        pageResponse.setTotalElements(-1);
+        pageResponse.setTotalPages(-1);
+        pageResponse.setEmpty(books.isEmpty());
+
+        boolean hasNext = backward ? cursor != null : hasMore;
+        boolean hasPrev = backward ? hasMore : cursor != null;
+        if (!books.isEmpty()) {
+            Book first = books.get(0);
+            Book last = books.get(books.size() - 1);
+            if (hasNext) {
+                pageResponse.setNextCursor(new PageCursor(last.getCreatedAt(), last.getId(), false).encode());
+            }
+            if (hasPrev) {
+                pageResponse.setPrevCursor(new PageCursor(first.getCreatedAt(), first.getId(), true).encode());
+            }
+        }
+        pageResponse.setFirst(!hasPrev);
+        pageResponse.setLast(!hasNext);
+        pageResponse.setHasNext(hasNext);
+
+        return pageResponse;
+    }
+
+    private boolean isCursorSortable(PageRequest pageRequest) {
+        boolean noKeyword = pageRequest.getSearchKeyword() == null || pageRequest.getSearchKeyword().trim().isEmpty();
+        boolean byCreatedAt = pageRequest.getSortBy() == null || "createdAt".equals(pageRequest.getSortBy());
+        return noKeyword && byCreatedAt;
+    }
+
+    /**
+     * 批次轉換教材列表
+     * 熱區以單一 IN 查詢載入後依 bookId 分組，熱區音訊與封面衍生版本再以 IN 查詢附加，不論列表長度查詢數固定
+     * summary 為 true 時不載入熱區
+     */
+    private List<BookDTO> convertToDTOs(List<Book> books, boolean summary) {
+        if (summary || books.isEmpty()) {
+            List<BookDTO> dtos = books.stream()
+                    .map(BookConverter::convertToSummaryDTO)
+                    .collect(Collectors.toList());
+            attachCoverVariants(dtos);
+            return dtos;
+        }
+
+        List<Long> bookIds = books.stream()
+                .map(Book::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Hotspot>> hotspotsByBookId = hotspotRepository.findByBookIdIn(bookIds).stream()
+                .collect(Collectors.groupingBy(hotspot -> hotspot.getBook().getId()));
+
+        List<BookDTO> dtos = books.stream()
+                .map(book -> BookConverter.convertToDTO(
+                        book, hotspotsByBookId.getOrDefault(book.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+
+        // 整頁教材的熱區音訊合併為一次查詢
+        List<HotspotDTO> allHotspots = new ArrayList<>();
+        for (BookDTO dto : dtos) {
+            allHotspots.addAll(dto.getHotspots());
+        }
+        attachHotspotAudio(allHotspots);
+        attachCoverVariants(dtos);
+        return dtos;
+    }
+
+    /**
+     * 從 URL 取得副檔名，無法判斷時使用 bin
+     */
+    private String extensionOf(String url) {
+        String path = url;
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        String fileName = path.substring(path.lastIndexOf('/') + 1);
+        int dot = fileName.lastIndexOf('.');
+        if (dot >= 0) {
+            String extension = fileName.substring(dot + 1).toLowerCase();
+            if (extension.matches("[a-z0-9]{1,5}")) {
+                return extension;
+            }
+        }
+        return "bin";
+    }
+
     /**
      * 驗證教材數據
      */
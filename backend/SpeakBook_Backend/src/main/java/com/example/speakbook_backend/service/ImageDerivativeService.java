@@ -0,0 +1,16 @@
+package com.example.speakbook_backend.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+public interface ImageDerivativeService {
+
+    String VARIANT_THUMBNAIL = "thumbnail";
+    String VARIANT_MEDIUM = "medium";
+
+    /**
+     * 複製上傳的圖片後於背景產生縮圖與中等尺寸版本，並寫入與原始圖片相同的儲存後端
+     * 無法解碼的格式（例如 WebP）或佇列已滿時略過，不影響原始上傳
+     * @param contentHash 已知的內容 SHA-256（同步上傳的結果），所有版本都已存在時不複製檔案；未知時傳入 null
+     */
+    void scheduleDerivatives(MultipartFile file, String contentHash);
+}
@@ -0,0 +1,301 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.UploadResponse;
+import com.example.speakbook_backend.entity.ImageVariant;
+import com.example.speakbook_backend.entity.UploadedFile;
+import com.example.speakbook_backend.repository.ImageVariantRepository;
+import com.example.speakbook_backend.repository.UploadedFileRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 圖片衍生版本
+ * 以 ImageIO 解碼後縮放為縮圖與中等尺寸，統一輸出為 JPEG；
+ * 手機拍攝的數 MB 封面縮為數十 KB，教材列表只需載入縮圖
+ */
+@Service
+public class ImageDerivativeServiceImpl implements ImageDerivativeService {
+
+    @Autowired
+    private ImageVariantRepository imageVariantRepository;
+
+    @Autowired
+    private UploadedFileRepository uploadedFileRepository;
+
+    @Autowired
+    private UploadService uploadService;
+
+    @Autowired
+    private BookService bookService;
+
+    // 版本名稱 -> 最大寬度（像素），由大到小排列，較小的版本由較大的版本縮放
+    private final Map<String, Integer> widths = new LinkedHashMap<>();
+    private final float quality;
+
+    private final ThreadPoolExecutor executor;
+
+    public ImageDerivativeServiceImpl(
+            @Value("${speakbook.image.derivative.medium-width:720}") int mediumWidth,
+            @Value("${speakbook.image.derivative.thumbnail-width:240}") int thumbnailWidth,
+            @Value("${speakbook.image.derivative.quality:0.8}") float quality,
+            @Value("${speakbook.image.derivative.threads:2}") int threads,
+            @Value("${speakbook.image.derivative.queue-size:100}") int queueSize) {
+        this.widths.put(VARIANT_MEDIUM, Math.max(1, mediumWidth));
+        this.widths.put(VARIANT_THUMBNAIL, Math.max(1, Math.min(thumbnailWidth, mediumWidth)));
+        this.quality = quality;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void scheduleDerivatives(MultipartFile file, String contentHash) {
+        // 重複上傳的圖片通常已有所有版本，不必在請求執行緒上複製檔案
+        Path copy = null;
+        try {
+            if (contentHash != null && missingVariants(contentHash).isEmpty()) {
+                return;
+            }
+            // multipart 暫存檔在請求結束後刪除，背景工作使用自己的複本
+            copy = Files.createTempFile("speakbook-image-", ".tmp");
+            try (InputStream in = file.getInputStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Path source = copy;
+            executor.execute(() -> generate(source, file.getOriginalFilename()));
+            copy = null;
+        } catch (IOException | RuntimeException e) {
+            // 衍生版本為最佳化，略過時用戶端使用原始圖片
+        } finally {
+            deleteQuietly(copy);
+        }
+    }
+
+    /**
+     * 產生尚未存在的版本並上傳；失敗時不重試，原始圖片不受影響
+     * 每個版本各自檢查與保存，部分失敗後再次上傳同一張圖片時只補上缺少的版本
+     */
+    private void generate(Path source, String fileName) {
+        Path output = null;
+        String sourceHash = null;
+        boolean saved = false;
+        try {
+            sourceHash = sha256(source);
+            Set<String> missing = missingVariants(sourceHash);
+            if (missing.isEmpty()) {
+                return;
+            }
+            BufferedImage image = read(source, widths.get(VARIANT_MEDIUM));
+            if (image == null) {
+                return;
+            }
+
+            String baseName = baseName(fileName);
+            output = Files.createTempFile("speakbook-image-variant-", ".jpg");
+            for (Map.Entry<String, Integer> entry : widths.entrySet()) {
+                // 已存在的版本仍需縮放，較小的版本由它縮放而來
+                image = scaleToWidth(image, entry.getValue());
+                if (!missing.contains(entry.getKey())) {
+                    continue;
+                }
+                writeJpeg(image, output);
+
+                UploadResponse uploaded = uploadService.uploadFile(
+                        output, baseName + "-" + entry.getKey() + ".jpg", "image/jpeg");
+                ImageVariant variant = new ImageVariant();
+                variant.setSourceHash(sourceHash);
+                variant.setVariant(entry.getKey());
+                variant.setUrl(uploaded.getUrl());
+                variant.setWidth(image.getWidth());
+                variant.setHeight(image.getHeight());
+                variant.setFileSize(Files.size(output));
+                try {
+                    imageVariantRepository.save(variant);
+                    saved = true;
+                } catch (DataIntegrityViolationException e) {
+                    // 已由其他工作產生
+                }
+            }
+        } catch (Exception e) {
+            // 衍生版本為最佳化，失敗時用戶端會回退到原始圖片
+        } finally {
+            deleteQuietly(source);
+            deleteQuietly(output);
+        }
+
+        // 已引用此圖片的教材需重新載入才會包含衍生版本（部分版本失敗時也包含已保存的版本）
+        if (saved) {
+            try {
+                for (UploadedFile uploaded : uploadedFileRepository.findByContentHash(sourceHash)) {
+                    bookService.onCoverImageChanged(uploaded.getUrl());
+                }
+            } catch (Exception e) {
+                // 教材快取會在過期後自然更新
+            }
+        }
+    }
+
+    /**
+     * 尚未產生的版本名稱
+     */
+    private Set<String> missingVariants(String sourceHash) {
+        Set<String> missing = new HashSet<>(widths.keySet());
+        for (ImageVariant existing : imageVariantRepository.findBySourceHash(sourceHash)) {
+            missing.remove(existing.getVariant());
+        }
+        return missing;
+    }
+
+    /**
+     * 解碼圖片；原始尺寸遠大於目標時以來源降取樣解碼，避免把整張高解析度照片載入記憶體
+     * 沒有可用的解碼器時回傳 null
+     */
+    private BufferedImage read(Path source, int targetWidth) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(source.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                // 保留兩倍目標寬度，後續縮放仍有足夠的像素做平滑
+                int subsampling = Math.max(1, reader.getWidth(0) / (targetWidth * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * 縮放到不超過指定寬度並轉為不透明的 RGB（JPEG 不支援透明，透明區域填白色）
+     * 每次最多縮小一半，避免一次大幅縮小時雙線性插值產生鋸齒
+     */
+    private static BufferedImage scaleToWidth(BufferedImage image, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, image.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+
+        BufferedImage current = image;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = width == targetWidth ? targetHeight : Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (current.getWidth() > targetWidth);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path output) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(
+                Files.newOutputStream(output, StandardOpenOption.TRUNCATE_EXISTING))) {
+            writer.setOutput(out);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /**
+     * 串流計算檔案內容的 SHA-256（與 uploaded_files.content_hash 相同）
+     */
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static String baseName(String fileName) {
+        if (fileName == null || fileName.isEmpty()) {
+            return "image";
+        }
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 暫存檔刪除失敗不影響結果
+        }
+    }
+}
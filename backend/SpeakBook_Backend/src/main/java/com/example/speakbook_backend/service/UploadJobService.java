@@ -0,0 +1,27 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.UploadJobDTO;
+import org.springframework.web.multipart.MultipartFile;
+
+/**
+ * 非同步上傳工作
+ * 請求只負責把檔案存到本機暫存檔，遠端上傳由背景工作執行並在失敗時以指數退避重試
+ */
+public interface UploadJobService {
+
+    String STATUS_QUEUED = "queued";
+    String STATUS_RUNNING = "running";
+    String STATUS_RETRYING = "retrying";
+    String STATUS_SUCCEEDED = "succeeded";
+    String STATUS_FAILED = "failed";
+
+    /**
+     * 建立上傳工作並立即回傳，佇列已滿時拋出例外
+     */
+    UploadJobDTO submit(MultipartFile file) throws Exception;
+
+    /**
+     * 查詢上傳工作狀態（完成後保留一段時間）
+     */
+    UploadJobDTO getJob(String jobId);
+}
@@ -0,0 +1,304 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.UploadJobDTO;
+import com.example.speakbook_backend.dto.UploadResponse;
+import com.example.speakbook_backend.http.RemoteUnavailableException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 非同步上傳工作（記憶體內保存狀態，服務重啟後未完成的工作會遺失）
+ * 固定大小的工作執行緒與有界佇列限制同時進行的遠端上傳數，
+ * 失敗時依 initial-backoff-ms × 2^(n-1)（上限 max-backoff-ms，±20% 抖動）排程重試；
+ * 遠端無法使用時的等待不計入嘗試次數，但自建立起超過 max-unavailable-ms 即判定失敗
+ */
+@Service
+public class UploadJobServiceImpl implements UploadJobService {
+
+    @Autowired
+    private UploadService uploadService;
+
+    private final Path tempDirectory;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long retentionMs;
+    private final long maxUnavailableMs;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    public UploadJobServiceImpl(
+            @Value("${speakbook.upload.jobs.dir:${java.io.tmpdir}/speakbook/upload-jobs}") String tempDirectory,
+            @Value("${speakbook.upload.jobs.threads:4}") int threads,
+            @Value("${speakbook.upload.jobs.queue-size:100}") int queueSize,
+            @Value("${speakbook.upload.jobs.max-attempts:4}") int maxAttempts,
+            @Value("${speakbook.upload.jobs.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${speakbook.upload.jobs.max-backoff-ms:30000}") long maxBackoffMs,
+            @Value("${speakbook.upload.jobs.retention-ms:3600000}") long retentionMs,
+            @Value("${speakbook.upload.jobs.max-unavailable-ms:600000}") long maxUnavailableMs) throws IOException {
+        this.tempDirectory = Paths.get(tempDirectory);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMs = Math.max(0, initialBackoffMs);
+        this.maxBackoffMs = Math.max(this.initialBackoffMs, maxBackoffMs);
+        this.retentionMs = retentionMs;
+        this.maxUnavailableMs = Math.max(0, maxUnavailableMs);
+        Files.createDirectories(this.tempDirectory);
+        deleteLeftovers();
+
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(Math.max(1, queueSize)), runnable -> {
+                    Thread thread = new Thread(runnable, "upload-job-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "upload-job-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // 定期清除已結束且超過保留時間的工作
+        long purgeInterval = Math.max(1000, Math.min(retentionMs, 60000));
+        this.scheduler.scheduleWithFixedDelay(this::purgeFinished, purgeInterval, purgeInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    @Override
+    public UploadJobDTO submit(MultipartFile file) throws Exception {
+        // 請求結束後容器會刪除 multipart 暫存檔，先串流複製到工作自己的暫存檔
+        Path copy = Files.createTempFile(tempDirectory, "upload-", ".tmp");
+        try (InputStream in = file.getInputStream()) {
+            Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(copy);
+            throw e;
+        }
+
+        UploadJob job = new UploadJob(UUID.randomUUID().toString(), copy,
+                file.getOriginalFilename(), file.getContentType(), file.getSize(), maxAttempts);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(copy);
+            throw new RuntimeException("上傳佇列已滿，請稍後再試");
+        }
+        return job.toDTO();
+    }
+
+    @Override
+    public UploadJobDTO getJob(String jobId) {
+        UploadJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("上傳工作不存在，ID: " + jobId);
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * 執行一次上傳嘗試，失敗且尚有次數時排程重試
+     */
+    private void run(UploadJob job) {
+        job.start();
+        try {
+            UploadResponse response = uploadService.uploadFile(job.file, job.fileName, job.contentType,
+                    bytes -> job.bytesUploaded = bytes);
+            job.succeed(response);
+            deleteQuietly(job.file);
+        } catch (Exception e) {
+            // 斷路器開啟或隔艙已滿時請求未送出：不計入嘗試次數，等到斷路器半開後再試
+            RemoteUnavailableException unavailable = RemoteUnavailableException.find(e);
+            if (unavailable != null) {
+                job.notAttempted();
+            }
+            // 下次嘗試會超過自建立起的等待期限時直接失敗，避免斷路器持續開啟時無限期重新排程
+            boolean expired = unavailable != null
+                    && System.currentTimeMillis() + unavailable.getRetryAfterMillis() - job.createdAtMillis > maxUnavailableMs;
+            if (job.attempts >= maxAttempts || expired) {
+                job.fail(e.getMessage());
+                deleteQuietly(job.file);
+                return;
+            }
+            // 等待半開時再加上抖動的初始退避，避免等待中的工作在半開時同時送出
+            long delay = unavailable != null
+                    ? unavailable.getRetryAfterMillis() + jitter(initialBackoffMs)
+                    : backoffDelay(job.attempts);
+            job.retryAt(e.getMessage(), LocalDateTime.now().plusNanos(delay * 1_000_000));
+            try {
+                scheduler.schedule(() -> resubmit(job), delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException rejected) {
+                // 服務關閉中
+                job.fail(e.getMessage());
+                deleteQuietly(job.file);
+            }
+        }
+    }
+
+    private void resubmit(UploadJob job) {
+        try {
+            executor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            job.fail("上傳佇列已滿，無法重試");
+            deleteQuietly(job.file);
+        }
+    }
+
+    /**
+     * 第 attempt 次失敗後的等待時間（毫秒）
+     */
+    private long backoffDelay(int attempt) {
+        long delay = initialBackoffMs << Math.min(attempt - 1, 20);
+        delay = Math.min(delay, maxBackoffMs);
+        return jitter(delay);
+    }
+
+    /**
+     * 抖動避免大量工作在遠端恢復時同時重試
+     */
+    private static long jitter(long delay) {
+        return (long) (delay * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    private void purgeFinished() {
+        long cutoff = System.currentTimeMillis() - retentionMs;
+        jobs.values().removeIf(job -> job.finishedAtMillis > 0 && job.finishedAtMillis < cutoff);
+    }
+
+    /**
+     * 工作只保存在記憶體，啟動時刪除上次遺留的暫存檔
+     */
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(tempDirectory, "upload-*.tmp")) {
+            for (Path file : stream) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ignored) {
+            // 暫存檔刪除失敗不影響上傳結果
+        }
+    }
+
+    /**
+     * 工作狀態；由單一工作執行緒寫入，查詢端讀取 volatile 欄位取得快照
+     */
+    private static final class UploadJob {
+        private final String id;
+        private final Path file;
+        private final String fileName;
+        private final String contentType;
+        private final long fileSize;
+        private final int maxAttempts;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final long createdAtMillis = System.currentTimeMillis();
+
+        private volatile String status = STATUS_QUEUED;
+        private volatile int attempts;
+        private volatile long bytesUploaded;
+        private volatile LocalDateTime nextAttemptAt;
+        private volatile UploadResponse result;
+        private volatile String error;
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile long finishedAtMillis;
+
+        private UploadJob(String id, Path file, String fileName, String contentType, long fileSize,
+                          int maxAttempts) {
+            this.id = id;
+            this.file = file;
+            this.fileName = fileName;
+            this.contentType = contentType;
+            this.fileSize = fileSize;
+            this.maxAttempts = maxAttempts;
+        }
+
+        private void start() {
+            attempts++;
+            bytesUploaded = 0;
+            nextAttemptAt = null;
+            status = STATUS_RUNNING;
+            updatedAt = LocalDateTime.now();
+        }
+
+        private void notAttempted() {
+            attempts--;
+        }
+
+        private void retryAt(String error, LocalDateTime nextAttemptAt) {
+            this.error = error;
+            this.nextAttemptAt = nextAttemptAt;
+            status = STATUS_RETRYING;
+            updatedAt = LocalDateTime.now();
+        }
+
+        private void succeed(UploadResponse result) {
+            this.result = result;
+            bytesUploaded = fileSize;
+            error = null;
+            finish(STATUS_SUCCEEDED);
+        }
+
+        private void fail(String error) {
+            this.error = error;
+            nextAttemptAt = null;
+            finish(STATUS_FAILED);
+        }
+
+        private void finish(String status) {
+            this.status = status;
+            updatedAt = LocalDateTime.now();
+            finishedAtMillis = System.currentTimeMillis();
+        }
+
+        private UploadJobDTO toDTO() {
+            UploadJobDTO dto = new UploadJobDTO();
+            dto.setId(id);
+            dto.setStatus(status);
+            dto.setFileName(fileName);
+            dto.setContentType(contentType);
+            dto.setFileSize(fileSize);
+            dto.setBytesUploaded(bytesUploaded);
+            dto.setAttempts(attempts);
+            dto.setMaxAttempts(maxAttempts);
+            dto.setNextAttemptAt(nextAttemptAt);
+            dto.setResult(result);
+            dto.setError(error);
+            dto.setCreatedAt(createdAt);
+            dto.setUpdatedAt(updatedAt);
+            return dto;
+        }
+    }
+}
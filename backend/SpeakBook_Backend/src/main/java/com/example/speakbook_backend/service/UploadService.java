@@ -3,12 +3,39 @@ package com.example.speakbook_backend.service;
 import com.example.speakbook_backend.dto.UploadResponse;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
+import java.util.function.LongConsumer;
+
 public interface UploadService {
 
+    // 圖片大小上限（/api/upload/image 與頭像共用）
+    long MAX_IMAGE_SIZE = 20L * 1024 * 1024;
+
+    /**
+     * 驗證圖片類型（JPG、PNG、GIF、WebP）
+     */
+    boolean isValidImageType(String contentType);
+
+    /**
+     * 上傳檔案到目前設定的儲存後端（catbox 或本機）
+     * 先串流計算 SHA-256，內容已上傳過時直接回傳既有 URL
+     * @param file 上傳的檔案
+     * @return UploadResponse 包含檔案 URL 和檔案名
+     */
+    UploadResponse uploadFile(MultipartFile file) throws Exception;
+
+    /**
+     * 上傳本機檔案到目前設定的儲存後端（同樣以內容雜湊去重）
+     * @param file 本機檔案
+     * @param fileName 遠端顯示的檔名
+     * @param contentType 檔案類型
+     */
+    UploadResponse uploadFile(Path file, String fileName, String contentType) throws Exception;
+
     /**
-     * 上傳圖片到 Catbox.moe
-     * @param file 圖片檔案
-     * @return UploadResponse 包含圖片 URL 和檔案名
+     * 上傳本機檔案，送出過程中回報已送出的位元組數
+     * @param progressListener 接收累計送出的位元組數，可為 null
      */
-    UploadResponse uploadToCatbox(MultipartFile file) throws Exception;
+    UploadResponse uploadFile(Path file, String fileName, String contentType,
+                              LongConsumer progressListener) throws Exception;
 }
@@ -1,70 +1,186 @@
 package com.example.speakbook_backend.service;
 
 import com.example.speakbook_backend.dto.UploadResponse;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.http.*;
+import com.example.speakbook_backend.entity.UploadedFile;
+import com.example.speakbook_backend.repository.UploadedFileRepository;
+import com.example.speakbook_backend.storage.StorageProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongConsumer;
+
+/**
+ * 檔案上傳
+ * 所有上傳都經由 speakbook.storage.provider 指定的 StorageProvider（預設 catbox）寫入；
+ * 上傳內容一律從 multipart 暫存檔或本機檔案以固定大小的區塊串流送出，
+ * 不會把整個檔案載入記憶體，每個請求的記憶體用量與檔案大小無關
+ */
 @Service
 public class UploadServiceImpl implements UploadService {
 
-    private static final String CATBOX_API_URL = "https://catbox.moe/user/api.php";
+    // 計算雜湊時的讀取區塊大小（位元組）
+    private static final int STREAM_CHUNK_SIZE = 64 * 1024;
+
+    @Autowired
+    private UploadedFileRepository uploadedFileRepository;
+
+    private final StorageProvider storageProvider;
+
+    public UploadServiceImpl(List<StorageProvider> storageProviders,
+                             @Value("${speakbook.storage.provider:catbox}") String providerName) {
+        this.storageProvider = storageProviders.stream()
+                .filter(provider -> provider.getName().equals(providerName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("未知的儲存提供者：" + providerName));
+    }
+
+    @Override
+    public boolean isValidImageType(String contentType) {
+        return contentType.equals("image/jpeg") ||
+               contentType.equals("image/jpg") ||
+               contentType.equals("image/png") ||
+               contentType.equals("image/gif") ||
+               contentType.equals("image/webp");
+    }
 
     @Override
-    public UploadResponse uploadToCatbox(MultipartFile file) throws Exception {
+    public UploadResponse uploadFile(MultipartFile file) throws Exception {
+        // MultipartFile.getResource() 每次都從暫存檔重新開啟串流
+        return upload(file, file.getOriginalFilename(), file.getSize(), file.getContentType(), file::getResource);
+    }
+
+    @Override
+    public UploadResponse uploadFile(Path file, String fileName, String contentType) throws Exception {
+        return uploadFile(file, fileName, contentType, null);
+    }
+
+    @Override
+    public UploadResponse uploadFile(Path file, String fileName, String contentType,
+                                     LongConsumer progressListener) throws Exception {
+        return upload(new FileSystemResource(file), fileName, Files.size(file), contentType,
+                () -> new FileSystemResource(file) {
+                    @Override
+                    public String getFilename() {
+                        return fileName;
+                    }
+
+                    @Override
+                    public InputStream getInputStream() throws IOException {
+                        InputStream in = super.getInputStream();
+                        return progressListener == null ? in : new ProgressInputStream(in, progressListener);
+                    }
+                });
+    }
+
+    /**
+     * 相同內容已上傳到目前的儲存提供者時直接回傳既有 URL，不寫入儲存後端；否則寫入並記錄雜湊
+     * 其他提供者的紀錄不會重用，切換提供者（例如改用 local 離線執行）後會重新寫入
+     */
+    private UploadResponse upload(InputStreamSource source, String fileName, long size, String contentType,
+                                  ResourceSupplier remoteResource) throws Exception {
+        String contentHash = sha256(source);
+        Optional<UploadedFile> existing =
+                uploadedFileRepository.findByProviderAndContentHash(storageProvider.getName(), contentHash);
+        if (existing.isPresent()) {
+            return toResponse(existing.get().getUrl(), fileName, contentHash, true);
+        }
+
+        String url = storageProvider.store(remoteResource.get(), contentHash, contentType);
+        UploadedFile uploadedFile = new UploadedFile();
+        uploadedFile.setProvider(storageProvider.getName());
+        uploadedFile.setContentHash(contentHash);
+        uploadedFile.setUrl(url);
+        uploadedFile.setFileSize(size);
+        uploadedFile.setContentType(contentType);
         try {
-            // 創建 RestTemplate
-            RestTemplate restTemplate = new RestTemplate();
-
-            // 準備請求頭
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            // 準備請求體
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("reqtype", "fileupload");
-            
-            // 將 MultipartFile 轉換為 ByteArrayResource
-            ByteArrayResource fileResource = new ByteArrayResource(file.getBytes()) {
-                @Override
-                public String getFilename() {
-                    return file.getOriginalFilename();
-                }
-            };
-            body.add("fileToUpload", fileResource);
-
-            // 創建請求實體
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-
-            // 發送請求到 Catbox.moe
-            ResponseEntity<String> response = restTemplate.exchange(
-                CATBOX_API_URL,
-                HttpMethod.POST,
-                requestEntity,
-                String.class
-            );
-
-            // 處理響應
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                String imageUrl = response.getBody().trim();
-                
-                // 驗證返回的 URL
-                if (imageUrl.isEmpty() || !imageUrl.startsWith("http")) {
-                    throw new Exception("Catbox 返回無效的 URL");
-                }
-
-                // 返回結果
-                return new UploadResponse(imageUrl, file.getOriginalFilename());
-            } else {
-                throw new Exception("Catbox 上傳失敗，狀態碼：" + response.getStatusCode());
+            uploadedFileRepository.save(uploadedFile);
+        } catch (DataIntegrityViolationException e) {
+            // 同一內容被並行上傳，以先寫入的紀錄為準
+            Optional<UploadedFile> winner =
+                    uploadedFileRepository.findByProviderAndContentHash(storageProvider.getName(), contentHash);
+            if (winner.isPresent()) {
+                return toResponse(winner.get().getUrl(), fileName, contentHash, true);
             }
+        }
+        return toResponse(url, fileName, contentHash, false);
+    }
+
+    /**
+     * 串流計算檔案內容的 SHA-256
+     */
+    private String sha256(InputStreamSource source) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[STREAM_CHUNK_SIZE];
+        try (InputStream in = source.getInputStream()) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private UploadResponse toResponse(String url, String fileName, String contentHash, boolean deduplicated) {
+        UploadResponse response = new UploadResponse(url, fileName);
+        response.setContentHash(contentHash);
+        response.setDeduplicated(deduplicated);
+        return response;
+    }
 
-        } catch (Exception e) {
-            throw new Exception("上傳到 Catbox 失敗：" + e.getMessage(), e);
+    private interface ResourceSupplier {
+        Resource get() throws IOException;
+    }
+
+    /**
+     * 讀取時回報累計位元組數
+     */
+    private static final class ProgressInputStream extends FilterInputStream {
+        private final LongConsumer listener;
+        private long total;
+
+        private ProgressInputStream(InputStream in, LongConsumer listener) {
+            super(in);
+            this.listener = listener;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                listener.accept(++total);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                total += n;
+                listener.accept(total);
+            }
+            return n;
         }
     }
 }
@@ -0,0 +1,94 @@
+package com.example.speakbook_backend.storage;
+
+import com.example.speakbook_backend.http.RemoteHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.*;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 上傳到 Catbox.moe
+ * 經由共用的 RemoteHttpClient 送出，Catbox 變慢或故障時由隔艙與斷路器快速拒絕
+ */
+@Component
+public class CatboxStorageProvider implements StorageProvider {
+
+    public static final String NAME = "catbox";
+
+    private final String apiUrl;
+    private final Set<String> downloadHosts;
+    private final RemoteHttpClient remoteHttpClient;
+
+    public CatboxStorageProvider(
+            @Value("${speakbook.upload.catbox.url:https://catbox.moe/user/api.php}") String apiUrl,
+            @Value("${speakbook.upload.catbox.download-hosts:files.catbox.moe}") String[] downloadHosts,
+            RemoteHttpClient remoteHttpClient) {
+        this.apiUrl = apiUrl;
+        Set<String> hosts = new HashSet<>();
+        for (String host : downloadHosts) {
+            if (!host.trim().isEmpty()) {
+                hosts.add(host.trim().toLowerCase(Locale.ROOT));
+            }
+        }
+        this.downloadHosts = Set.copyOf(hosts);
+        this.remoteHttpClient = remoteHttpClient;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> getDownloadHosts() {
+        return downloadHosts;
+    }
+
+    @Override
+    public String store(Resource content, String contentHash, String contentType) throws Exception {
+        try {
+            // 準備請求頭
+            HttpHeaders headers = new HttpHeaders();
+            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+            // 準備請求體
+            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
+            body.add("reqtype", "fileupload");
+            body.add("fileToUpload", content);
+
+            // 創建請求實體
+            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
+
+            // 發送請求到 Catbox.moe（請求內容串流送出，不在記憶體中緩衝整個 multipart 請求）
+            ResponseEntity<String> response = remoteHttpClient.execute(apiUrl, restTemplate -> restTemplate.exchange(
+                apiUrl,
+                HttpMethod.POST,
+                requestEntity,
+                String.class
+            ));
+
+            // 處理響應
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                String imageUrl = response.getBody().trim();
+
+                // 驗證返回的 URL
+                if (imageUrl.isEmpty() || !imageUrl.startsWith("http")) {
+                    throw new Exception("Catbox 返回無效的 URL");
+                }
+
+                return imageUrl;
+            } else {
+                throw new Exception("Catbox 上傳失敗，狀態碼：" + response.getStatusCode());
+            }
+
+        } catch (Exception e) {
+            throw new Exception("上傳到 Catbox 失敗：" + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.speakbook_backend.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * 本機檔案儲存（以內容定址）
+ * 檔案依 SHA-256 分兩層目錄存放：objects/ab/cd/abcd….ext，相同內容只存一份；
+ * 先寫入 tmp 目錄並驗證雜湊，再以原子搬移放到最終位置，讀取端不會看到寫一半的檔案
+ * 檔案以 {base-url}/ab/cd/abcd….ext 提供下載（見 StorageController）
+ * 副檔名取自已驗證的檔案類型（白名單），不使用上傳者提供的檔名，
+ * 避免以 .html、.svg 等副檔名讓檔案以可執行的類型從 API 來源提供
+ */
+@Component
+public class LocalStorageProvider implements StorageProvider {
+
+    public static final String NAME = "local";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{2}/[0-9a-f]{2}/[0-9a-f]{64}(\\.[a-z0-9]{1,5})?");
+
+    // 檔案類型 -> 副檔名（白名單）
+    private static final Map<String, String> EXTENSIONS = Map.ofEntries(
+            Map.entry("image/jpeg", "jpg"),
+            Map.entry("image/jpg", "jpg"),
+            Map.entry("image/png", "png"),
+            Map.entry("image/gif", "gif"),
+            Map.entry("image/webp", "webp"),
+            Map.entry("audio/mpeg", "mp3"),
+            Map.entry("audio/mp3", "mp3"),
+            Map.entry("audio/wav", "wav"),
+            Map.entry("audio/wave", "wav"),
+            Map.entry("audio/x-wav", "wav"),
+            Map.entry("audio/ogg", "ogg"),
+            Map.entry("audio/x-m4a", "m4a"),
+            Map.entry("audio/mp4", "m4a"));
+
+    // 副檔名 -> 提供下載時的檔案類型（白名單）
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "jpg", "image/jpeg",
+            "png", "image/png",
+            "gif", "image/gif",
+            "webp", "image/webp",
+            "mp3", "audio/mpeg",
+            "wav", "audio/wav",
+            "ogg", "audio/ogg",
+            "m4a", "audio/mp4");
+
+    private final Path objectsDirectory;
+    private final Path tempDirectory;
+    private final String baseUrl;
+
+    public LocalStorageProvider(
+            @Value("${speakbook.storage.local.dir:${user.home}/.speakbook/storage}") String directory,
+            @Value("${speakbook.storage.local.base-url:/api/files}") String baseUrl) throws IOException {
+        Path root = Paths.get(directory);
+        this.objectsDirectory = root.resolve("objects");
+        this.tempDirectory = root.resolve("tmp");
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        Files.createDirectories(objectsDirectory);
+        Files.createDirectories(tempDirectory);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Set<String> getDownloadHosts() {
+        return Set.of();
+    }
+
+    @Override
+    public String store(Resource content, String contentHash, String contentType) throws Exception {
+        String key = keyOf(contentHash, contentType);
+        Path target = objectsDirectory.resolve(key);
+        if (Files.exists(target)) {
+            return baseUrl + "/" + key;
+        }
+
+        Path temp = Files.createTempFile(tempDirectory, contentHash, ".tmp");
+        try {
+            String actualHash = copy(content, temp);
+            if (!actualHash.equals(contentHash)) {
+                throw new IOException("檔案內容與雜湊不符");
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return baseUrl + "/" + key;
+    }
+
+    /**
+     * 取得本機儲存的 URL 對應的檔案，不屬於本機儲存或檔案不存在時回傳 null
+     */
+    public Path resolve(String url) {
+        if (url == null || !url.startsWith(baseUrl + "/")) {
+            return null;
+        }
+        return resolveKey(url.substring(baseUrl.length() + 1));
+    }
+
+    /**
+     * 取得 key（ab/cd/abcd….ext）對應的檔案，格式不符或檔案不存在時回傳 null
+     */
+    public Path resolveKey(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            return null;
+        }
+        Path file = objectsDirectory.resolve(key);
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * 檔名（sha256.ext）對應的檔案類型，副檔名不在白名單時回傳 null（應以下載方式提供）
+     */
+    public static String contentTypeOf(String name) {
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        return CONTENT_TYPES.get(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 串流複製到暫存檔，同時計算 SHA-256
+     */
+    private String copy(Resource content, Path temp) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = new DigestInputStream(content.getInputStream(), digest);
+             OutputStream out = Files.newOutputStream(temp)) {
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * 內容雜湊與檔案類型決定的 key；類型不在白名單時不加副檔名
+     */
+    private static String keyOf(String contentHash, String contentType) {
+        String hash = contentHash.toLowerCase(Locale.ROOT);
+        String key = hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+        if (contentType != null) {
+            int semicolon = contentType.indexOf(';');
+            String mimeType = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType)
+                    .trim().toLowerCase(Locale.ROOT);
+            String extension = EXTENSIONS.get(mimeType);
+            if (extension != null) {
+                key += "." + extension;
+            }
+        }
+        return key;
+    }
+}
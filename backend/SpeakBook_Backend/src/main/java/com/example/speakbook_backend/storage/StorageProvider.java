@@ -0,0 +1,31 @@
+package com.example.speakbook_backend.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.util.Set;
+
+/**
+ * 檔案儲存後端
+ * 由 speakbook.storage.provider 選擇使用的實作（catbox、local）
+ */
+public interface StorageProvider {
+
+    /**
+     * 提供者名稱，對應 speakbook.storage.provider 的設定值
+     */
+    String getName();
+
+    /**
+     * 儲存檔案並回傳可存取的 URL
+     * @param content 檔案內容（以串流讀取，getFilename 為遠端顯示的檔名）
+     * @param contentHash 內容的 SHA-256（十六進位小寫）
+     * @param contentType 檔案類型，可為 null
+     */
+    String store(Resource content, String contentHash, String contentType) throws Exception;
+
+    /**
+     * store 回傳的遠端 URL 所在的主機，音訊快取只會下載這些主機上的檔案
+     * 本機儲存的檔案直接讀取，回傳空集合
+     */
+    Set<String> getDownloadHosts();
+}
@@ -0,0 +1,11 @@
+-- 音訊波形峰值摘要（每區間一組有號位元組的最小值、最大值）
+CREATE TABLE IF NOT EXISTS audio_peaks (
+    audio_id INT PRIMARY KEY COMMENT '音訊 ID（與 audios.id 同為 INT）',
+    sample_rate INT NOT NULL COMMENT '原始取樣率（Hz）',
+    samples_per_bin INT NOT NULL COMMENT '每個區間的取樣數',
+    bin_count INT NOT NULL COMMENT '區間數',
+    frame_count BIGINT NOT NULL COMMENT '總取樣數（每聲道）',
+    data MEDIUMBLOB NOT NULL COMMENT '峰值資料',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_audio_peaks_audio FOREIGN KEY (audio_id) REFERENCES audios (id) ON DELETE CASCADE
+);
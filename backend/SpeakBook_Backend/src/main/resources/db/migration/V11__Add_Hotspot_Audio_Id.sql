@@ -0,0 +1,12 @@
+-- 熱區關聯音訊：以 audio_id 取代僅靠 URL 對應，教材詳情可一次查出所有音訊資訊
+ALTER TABLE hotspots ADD COLUMN audio_id INT NULL COMMENT '對應的音訊 ID（與 audios.id 同為 INT）' AFTER audio_url;
+
+-- 依既有 URL 回填（同一 URL 有多筆音訊時取最早建立的一筆）
+UPDATE hotspots h
+    JOIN (SELECT url, MIN(id) AS id FROM audios GROUP BY url) a ON a.url = h.audio_url
+SET h.audio_id = a.id
+WHERE h.audio_id IS NULL;
+
+CREATE INDEX idx_hotspots_audio_id ON hotspots (audio_id);
+ALTER TABLE hotspots
+    ADD CONSTRAINT fk_hotspots_audio FOREIGN KEY (audio_id) REFERENCES audios (id) ON DELETE SET NULL;
@@ -0,0 +1,15 @@
+-- 圖片衍生版本（縮圖、中等尺寸），以原始圖片的內容雜湊對應 uploaded_files
+CREATE TABLE IF NOT EXISTS image_variants (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    source_hash CHAR(64) NOT NULL COMMENT '原始圖片 SHA-256',
+    variant VARCHAR(20) NOT NULL COMMENT '版本（thumbnail、medium）',
+    url VARCHAR(500) NOT NULL COMMENT '圖片 URL',
+    width INT NULL COMMENT '寬度（像素）',
+    height INT NULL COMMENT '高度（像素）',
+    file_size BIGINT NULL COMMENT '檔案大小（字節）',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_image_variants_source_variant UNIQUE (source_hash, variant)
+);
+
+-- 教材列表以封面 URL 查詢衍生版本
+CREATE INDEX idx_uploaded_files_url ON uploaded_files (url);
@@ -0,0 +1,12 @@
+-- 上傳紀錄依儲存提供者區分：切換提供者後，相同內容需重新寫入新的儲存後端
+ALTER TABLE uploaded_files ADD COLUMN provider VARCHAR(20) NOT NULL DEFAULT 'catbox' COMMENT '儲存提供者（catbox、local）' AFTER id;
+
+-- 本機儲存的 URL 為站內相對路徑
+UPDATE uploaded_files SET provider = 'local' WHERE url NOT LIKE 'http%';
+
+ALTER TABLE uploaded_files
+    DROP INDEX uk_uploaded_files_content_hash,
+    ADD CONSTRAINT uk_uploaded_files_provider_hash UNIQUE (provider, content_hash);
+
+-- 衍生圖片等仍需依內容雜湊查詢所有提供者的紀錄
+CREATE INDEX idx_uploaded_files_content_hash ON uploaded_files (content_hash);
@@ -0,0 +1,2 @@
+-- 教材游標分頁索引：依 (status, created_at, id) 定位，取代 OFFSET 掃描
+CREATE INDEX idx_status_created_at_id ON books (status, created_at, id);
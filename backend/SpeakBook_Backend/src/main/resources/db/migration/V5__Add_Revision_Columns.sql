@@ -0,0 +1,4 @@
+-- 條件式 GET（ETag）所需的修訂版本與更新時間
+ALTER TABLE books ADD COLUMN revision BIGINT DEFAULT 0 COMMENT '修訂版本';
+ALTER TABLE audios ADD COLUMN updated_at TIMESTAMP NULL DEFAULT NULL COMMENT '更新時間';
+ALTER TABLE audios ADD COLUMN revision BIGINT DEFAULT 0 COMMENT '修訂版本';
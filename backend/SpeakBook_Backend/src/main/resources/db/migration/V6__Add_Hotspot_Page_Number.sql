@@ -0,0 +1,3 @@
+-- 熱區分頁：記錄熱區所在頁碼，可依頁載入
+ALTER TABLE hotspots ADD COLUMN page_number INT NOT NULL DEFAULT 1 COMMENT '所在頁碼';
+CREATE INDEX idx_book_id_page_number ON hotspots (book_id, page_number);
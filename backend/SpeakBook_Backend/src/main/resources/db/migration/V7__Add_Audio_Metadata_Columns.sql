@@ -0,0 +1,4 @@
+-- 上傳時解析的音訊技術資訊
+ALTER TABLE audios ADD COLUMN sample_rate INT NULL COMMENT '取樣率（Hz）';
+ALTER TABLE audios ADD COLUMN channels INT NULL COMMENT '聲道數';
+ALTER TABLE audios ADD COLUMN bitrate INT NULL COMMENT '位元率（bps）';
@@ -0,0 +1,13 @@
+-- 上傳內容雜湊索引：相同內容的檔案直接回傳既有 URL
+CREATE TABLE IF NOT EXISTS uploaded_files (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content_hash CHAR(64) NOT NULL COMMENT 'SHA-256',
+    url VARCHAR(500) NOT NULL COMMENT '遠端 URL',
+    file_size BIGINT NULL COMMENT '檔案大小（字節）',
+    content_type VARCHAR(100) NULL COMMENT '檔案類型',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_uploaded_files_content_hash UNIQUE (content_hash)
+);
+
+ALTER TABLE audios ADD COLUMN content_hash CHAR(64) NULL COMMENT '檔案內容 SHA-256';
+CREATE INDEX idx_audios_content_hash ON audios (content_hash);
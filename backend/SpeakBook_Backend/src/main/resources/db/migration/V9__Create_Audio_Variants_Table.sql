@@ -0,0 +1,14 @@
+-- 音訊衍生版本（低位元率單聲道等）
+CREATE TABLE IF NOT EXISTS audio_variants (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    audio_id INT NOT NULL COMMENT '原始音訊 ID（與 audios.id 同為 INT，外鍵型別必須一致）',
+    quality VARCHAR(20) NOT NULL COMMENT '品質（low）',
+    url VARCHAR(500) NOT NULL COMMENT '音訊 URL',
+    sample_rate INT NULL COMMENT '取樣率（Hz）',
+    channels INT NULL COMMENT '聲道數',
+    bitrate INT NULL COMMENT '位元率（bps）',
+    file_size BIGINT NULL COMMENT '檔案大小（字節）',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_audio_variants_audio_quality UNIQUE (audio_id, quality),
+    CONSTRAINT fk_audio_variants_audio FOREIGN KEY (audio_id) REFERENCES audios (id) ON DELETE CASCADE
+);
@@ -0,0 +1,200 @@
+package com.example.speakbook_backend.service;
+
+import com.example.speakbook_backend.dto.UploadResponse;
+import com.example.speakbook_backend.http.RemoteHttpClient;
+import com.example.speakbook_backend.repository.UploadedFileRepository;
+import com.example.speakbook_backend.storage.CatboxStorageProvider;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 驗證 multipart 上傳以串流送出，並行上傳大檔時不會把檔案載入記憶體
+ * 由 memoryTest 任務在 128 MB 堆積的獨立 JVM 中執行（不在預設的 test 任務中）：
+ * 20 個 50 MB 檔案若整檔緩衝至少需要 1000 MB，會以 OutOfMemoryError 失敗；
+ * getBytes 被呼叫時直接失敗，確保沒有整檔讀取
+ */
+@Tag("memory")
+class UploadServiceImplStreamingTest {
+
+    private static final int CONCURRENT_UPLOADS = 20;
+    private static final long FILE_SIZE = 50L * 1024 * 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private RemoteHttpClient remoteHttpClient;
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicInteger requestCount = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        // 模擬儲存服務：以固定緩衝區讀完請求內容後回傳檔案 URL
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        serverExecutor = Executors.newFixedThreadPool(CONCURRENT_UPLOADS);
+        server.setExecutor(serverExecutor);
+        server.createContext("/upload", exchange -> {
+            byte[] buffer = new byte[64 * 1024];
+            long total = 0;
+            try (InputStream in = exchange.getRequestBody()) {
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    total += n;
+                }
+            }
+            bytesReceived.addAndGet(total);
+            byte[] body = ("https://files.example/" + requestCount.incrementAndGet() + ".wav")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        if (remoteHttpClient != null) {
+            remoteHttpClient.shutdown();
+        }
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void concurrentLargeUploadsKeepHeapFlat() throws Exception {
+        Path file = tempDir.resolve("large.wav");
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(FILE_SIZE);
+        }
+
+        // 並行上限不低於同時上傳數，讓所有上傳同時進行
+        remoteHttpClient = new RemoteHttpClient(5000, 120000, CONCURRENT_UPLOADS, 0, 5, 30000);
+        CatboxStorageProvider storageProvider = new CatboxStorageProvider(
+                "http://127.0.0.1:" + server.getAddress().getPort() + "/upload",
+                new String[]{"files.catbox.moe"}, remoteHttpClient);
+        UploadServiceImpl uploadService = new UploadServiceImpl(List.of(storageProvider), CatboxStorageProvider.NAME);
+        UploadedFileRepository repository = mock(UploadedFileRepository.class);
+        when(repository.findByProviderAndContentHash(anyString(), anyString())).thenReturn(Optional.empty());
+        when(repository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        ReflectionTestUtils.setField(uploadService, "uploadedFileRepository", repository);
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENT_UPLOADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<UploadResponse>> uploads = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_UPLOADS; i++) {
+                MultipartFile multipartFile = new FileBackedMultipartFile(file, "clip-" + i + ".wav");
+                uploads.add(clients.submit(() -> {
+                    start.await();
+                    return uploadService.uploadFile(multipartFile);
+                }));
+            }
+            start.countDown();
+
+            for (Future<UploadResponse> upload : uploads) {
+                UploadResponse response = upload.get(5, TimeUnit.MINUTES);
+                assertTrue(response.getUrl().startsWith("https://files.example/"));
+                assertFalse(response.isDeduplicated());
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+
+        assertEquals(CONCURRENT_UPLOADS, requestCount.get());
+        assertTrue(bytesReceived.get() >= CONCURRENT_UPLOADS * FILE_SIZE, "儲存服務未收到完整內容");
+    }
+
+    /**
+     * 以磁碟檔案為內容的 MultipartFile（與容器的暫存檔相同），禁止整檔讀入記憶體
+     */
+    private static final class FileBackedMultipartFile implements MultipartFile {
+        private final Path file;
+        private final String fileName;
+
+        private FileBackedMultipartFile(Path file, String fileName) {
+            this.file = file;
+            this.fileName = fileName;
+        }
+
+        @Override
+        public String getName() {
+            return "file";
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return fileName;
+        }
+
+        @Override
+        public String getContentType() {
+            return "audio/wav";
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return getSize() == 0;
+        }
+
+        @Override
+        public long getSize() {
+            try {
+                return Files.size(file);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public byte[] getBytes() {
+            throw new UnsupportedOperationException("上傳流程不應將整個檔案載入記憶體");
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(file);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.copy(file, dest.toPath());
+        }
+    }
+}